@@ -16,6 +16,8 @@
 package com.vaadin.client.widgets;
 
 import com.google.gwt.animation.client.Animation;
+import com.google.gwt.animation.client.AnimationScheduler;
+import com.google.gwt.animation.client.AnimationScheduler.AnimationCallback;
 import com.google.gwt.core.client.Duration;
 import com.google.gwt.core.client.JavaScriptObject;
 import com.google.gwt.core.client.JsArray;
@@ -79,16 +81,21 @@ import com.vaadin.shared.ui.grid.Range;
 import com.vaadin.shared.ui.grid.ScrollDestination;
 import com.vaadin.shared.util.SharedUtil;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Set;
 import java.util.TreeMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -401,7 +408,7 @@ public class Escalator extends Widget implements RequiresResize,
                     speeds.clear();
                     prevPos = pagePosition(event);
                     prevTime = Duration.currentTimeMillis();
-                    scrollMax = scroll.getScrollSize() - scroll.getOffsetSize();
+                    scrollMax = getScrollSize() - scroll.getOffsetSize();
                     delta = 0;
                 }
 
@@ -422,7 +429,7 @@ public class Escalator extends Widget implements RequiresResize,
                         speeds.add(0, velocity);
                         prevTime = now;
                         prevPos = pagePosition;
-                        position = scroll.getScrollPos();
+                        position = getScrollPos();
                     }
                 }
 
@@ -441,7 +448,7 @@ public class Escalator extends Widget implements RequiresResize,
                     for (double s : speeds) {
                         velocity += s / speeds.size();
                     }
-                    position = scroll.getScrollPos();
+                    position = getScrollPos();
 
                     // Compute offset, and adjust it with an easing curve so as
                     // movement is smoother.
@@ -458,7 +465,7 @@ public class Escalator extends Widget implements RequiresResize,
                 void stepAnimation(double progress) {
                     if (run) {
                         double p = position + offset * progress;
-                        scroll.setScrollPos(p);
+                        setScrollPos(p);
                         run = inScrollRange(p);
                     }
                 }
@@ -467,6 +474,26 @@ public class Escalator extends Widget implements RequiresResize,
                     return p > 0 && p < scrollMax;
                 }
 
+                // Vertically the scrollbar might be scaled, so the body
+                // scroll position is used instead
+                double getScrollPos() {
+                    return vertical ? escalator.scroller.getScrollTop()
+                            : scroll.getScrollPos();
+                }
+
+                void setScrollPos(double p) {
+                    if (vertical) {
+                        escalator.scroller.setScrollTop(p);
+                    } else {
+                        scroll.setScrollPos(p);
+                    }
+                }
+
+                double getScrollSize() {
+                    return vertical ? escalator.scroller.getScrollSize()
+                            : scroll.getScrollSize();
+                }
+
                 int pagePosition(CustomTouchEvent event) {
                     JsArray<Touch> a = event.getTouches();
                     return vertical ? a.get(0).getPageY() : a.get(0).getPageX();
@@ -547,10 +574,10 @@ public class Escalator extends Widget implements RequiresResize,
                     xMov.validate(yMov);
                     yMov.validate(xMov);
                     if (xMov.run) {
-                        xMov.scroll.setScrollPosByDelta(xMov.delta);
+                        xMov.setScrollPos(xMov.getScrollPos() + xMov.delta);
                     }
                     if (yMov.run) {
-                        yMov.scroll.setScrollPosByDelta(yMov.delta);
+                        yMov.setScrollPos(yMov.getScrollPos() + yMov.delta);
                     }
                     if (xMov.run || yMov.run) {
                         // If we move the scroll prevent default, otherwise
@@ -613,7 +640,7 @@ public class Escalator extends Widget implements RequiresResize,
                     escalator.horizontalScrollbar.setScrollPosByDelta(deltaX);
                 }
                 if (movey) {
-                    escalator.verticalScrollbar.setScrollPosByDelta(deltaY);
+                    escalator.scroller.setScrollTopByDelta(deltaY);
                 }
                 escalator.body.domSorter.reschedule();
 
@@ -631,6 +658,26 @@ public class Escalator extends Widget implements RequiresResize,
                 }
             }
         }
+
+        /**
+         * Runs a command when the browser is idle, or after a timeout at the
+         * latest. Falls back to a timeout in browsers without
+         * <code>requestIdleCallback</code>.
+         * 
+         * @param command
+         *            the command to run
+         */
+        public static native void requestIdle(Command command)
+        /*-{
+            var callback = $entry(function() {
+                command.@com.google.gwt.user.client.Command::execute()();
+            });
+            if ($wnd.requestIdleCallback) {
+                $wnd.requestIdleCallback(callback, { timeout: 500 });
+            } else {
+                $wnd.setTimeout(callback, 0);
+            }
+        }-*/;
     }
 
     /**
@@ -712,10 +759,171 @@ public class Escalator extends Widget implements RequiresResize,
         private double lastScrollTop = 0;
         private double lastScrollLeft = 0;
 
+        /** The height of the scrolled body content. */
+        private double bodyScrollSize = 0;
+
+        /*
+         * [[mpixscroll]]: While the scrollbar is scaled, the body scroll
+         * position is kept here, along with the scrollbar position it was last
+         * mapped to. A scrollbar position differing from that means the
+         * scrollbar was moved natively, e.g. by dragging it.
+         */
+        private double scaledScrollTop = 0;
+        private double scaledScrollbarPos = 0;
+
+        private boolean scaledScrollPending = false;
+
+        /**
+         * Whether the contents will be updated on the next animation frame
+         * after a scroll event.
+         */
+        private boolean scrollFramePending = false;
+
+        private final AnimationCallback scrollFrame = new AnimationCallback() {
+            @Override
+            public void execute(double timestamp) {
+                scrollFramePending = false;
+                onScroll();
+                fireEvent(new ScrollEvent());
+            }
+        };
+
         public Scroller() {
             super(Escalator.this);
         }
 
+        /**
+         * Updates the contents after a scroll event on the next animation
+         * frame. Any further scroll events before that frame are handled by
+         * the same update.
+         */
+        public void scheduleScroll() {
+            if (!scrollFramePending) {
+                scrollFramePending = true;
+                AnimationScheduler.get().requestAnimationFrame(scrollFrame);
+            }
+        }
+
+        public boolean isScrollPending() {
+            return scrollFramePending || scaledScrollPending;
+        }
+
+        /**
+         * Checks whether the body content is too high for the vertical
+         * scrollbar, so that the scrollbar position is scaled.
+         */
+        private boolean isScrollbarScaled() {
+            return bodyScrollSize > MAX_SCROLLBAR_SIZE;
+        }
+
+        /**
+         * Returns how many body pixels one pixel of the scaled scrollbar
+         * corresponds to.
+         */
+        private double getScrollbarScale() {
+            double offsetSize = verticalScrollbar.getOffsetSize();
+            double maxScrollbarPos = MAX_SCROLLBAR_SIZE - offsetSize;
+            if (maxScrollbarPos <= 0) {
+                return 1;
+            }
+            return (bodyScrollSize - offsetSize) / maxScrollbarPos;
+        }
+
+        /**
+         * Returns the vertical scroll position of the body content.
+         */
+        public double getScrollTop() {
+            if (isScrollbarScaled()) {
+                return scaledScrollTop;
+            }
+            return verticalScrollbar.getScrollPos();
+        }
+
+        /**
+         * Scrolls the body content vertically.
+         * <p>
+         * While the scrollbar is scaled, the body is scrolled to the exact
+         * position, and the scrollbar to the closest matching position, so
+         * that small movements aren't lost in the scaling.
+         */
+        public void setScrollTop(double scrollTop) {
+            if (!isScrollbarScaled()) {
+                verticalScrollbar.setScrollPos(scrollTop);
+                return;
+            }
+
+            double maxScrollTop = Math.max(0, bodyScrollSize
+                    - verticalScrollbar.getOffsetSize());
+            scaledScrollTop = Math.max(0, Math.min(maxScrollTop, scrollTop));
+
+            double oldScrollbarPos = verticalScrollbar.getScrollPos();
+            updateScaledScrollbarPos();
+            if (WidgetUtil.pixelValuesEqual(oldScrollbarPos,
+                    scaledScrollbarPos)) {
+                /*
+                 * The scrollbar didn't move, so there won't be a scroll event
+                 * to render the new position.
+                 */
+                scheduleScaledScroll();
+            }
+        }
+
+        public void setScrollTopByDelta(double delta) {
+            if (delta != 0) {
+                setScrollTop(getScrollTop() + delta);
+            }
+        }
+
+        private void updateScaledScrollbarPos() {
+            verticalScrollbar.setScrollPos(scaledScrollTop
+                    / getScrollbarScale());
+            scaledScrollbarPos = verticalScrollbar.getScrollPos();
+        }
+
+        private void scheduleScaledScroll() {
+            if (!scaledScrollPending) {
+                scaledScrollPending = true;
+                Scheduler.get().scheduleFinally(new ScheduledCommand() {
+                    @Override
+                    public void execute() {
+                        scaledScrollPending = false;
+                        onScroll();
+                    }
+                });
+            }
+        }
+
+        /**
+         * Returns the height of the scrolled body content.
+         */
+        public double getScrollSize() {
+            return bodyScrollSize;
+        }
+
+        /**
+         * Sets the height of the scrolled body content. The vertical
+         * scrollbar is scaled if the content is higher than
+         * {@link #MAX_SCROLLBAR_SIZE}.
+         */
+        public void setScrollSize(double scrollSize) {
+            double scrollTop = getScrollTop();
+            boolean wasScaled = isScrollbarScaled();
+            bodyScrollSize = scrollSize;
+
+            if (isScrollbarScaled()) {
+                verticalScrollbar.setScrollSize(MAX_SCROLLBAR_SIZE);
+                double maxScrollTop = Math.max(0, bodyScrollSize
+                        - verticalScrollbar.getOffsetSize());
+                scaledScrollTop = Math.min(maxScrollTop, scrollTop);
+                updateScaledScrollbarPos();
+            } else {
+                verticalScrollbar.setScrollSize(scrollSize);
+                if (wasScaled) {
+                    verticalScrollbar.setScrollPos(scrollTop);
+                }
+            }
+        }
+
         @Override
         protected native JavaScriptObject createScrollListenerFunction(
                 Escalator esc)
@@ -827,7 +1035,7 @@ public class Escalator extends Widget implements RequiresResize,
             double vScrollbarHeight = Math.max(0, tableWrapperHeight
                     - footerHeight - headerHeight);
             verticalScrollbar.setOffsetSize(vScrollbarHeight);
-            verticalScrollbar.setScrollSize(scrollContentHeight);
+            setScrollSize(scrollContentHeight);
 
             /*
              * If decreasing the amount of frozen columns, and scrolled to the
@@ -885,15 +1093,38 @@ public class Escalator extends Widget implements RequiresResize,
          * Logical scrolling event handler for the entire widget.
          */
         public void onScroll() {
+            /*
+             * The scroll positions are read from the scrollbar bundles'
+             * caches, and the height of the body from the table wrapper,
+             * before anything is written to the DOM. The rows are then moved,
+             * and the visible spacer decos are clipped by their bookkept
+             * positions, so that the update forces no layout after the
+             * writes.
+             */
+            body.measureHeightOfSection();
+            try {
+                updateOnScroll();
+            } finally {
+                body.clearMeasuredHeightOfSection();
+            }
+        }
+
+        private void updateOnScroll() {
+            if (isScrollbarScaled()) {
+                double scrollbarPos = verticalScrollbar.getScrollPos();
+                if (!WidgetUtil.pixelValuesEqual(scrollbarPos,
+                        scaledScrollbarPos)) {
+                    // Moved natively, e.g. by dragging the scrollbar
+                    scaledScrollTop = scrollbarPos * getScrollbarScale();
+                    scaledScrollbarPos = scrollbarPos;
+                }
+            }
 
-            final double scrollTop = verticalScrollbar.getScrollPos();
+            final double scrollTop = getScrollTop();
             final double scrollLeft = horizontalScrollbar.getScrollPos();
-            if (lastScrollLeft != scrollLeft) {
-                for (int i = 0; i < columnConfiguration.frozenColumns; i++) {
-                    header.updateFreezePosition(i, scrollLeft);
-                    body.updateFreezePosition(i, scrollLeft);
-                    footer.updateFreezePosition(i, scrollLeft);
-                }
+            final boolean scrolledHorizontally = lastScrollLeft != scrollLeft;
+            if (scrolledHorizontally) {
+                columnStyleSheet.updateFrozenPosition(scrollLeft);
 
                 position.set(headElem, -scrollLeft, 0);
 
@@ -921,15 +1152,14 @@ public class Escalator extends Widget implements RequiresResize,
             }
 
             body.setBodyScrollPosition(scrollLeft, scrollTop);
+            if (scrolledHorizontally) {
+                body.updateVisibleColumns();
+            }
 
             lastScrollTop = scrollTop;
             body.updateEscalatorRowsOnScroll();
+            body.spacerContainer.initPendingSpacersInViewport();
             body.spacerContainer.updateSpacerDecosVisibility();
-            /*
-             * TODO [[optimize]]: Might avoid a reflow by first calculating new
-             * scrolltop and scrolleft, then doing the escalator magic based on
-             * those numbers and only updating the positions after that.
-             */
         }
 
         public native void attachScrollListener(Element element)
@@ -1091,11 +1321,9 @@ public class Escalator extends Widget implements RequiresResize,
         public void scrollToRow(final int rowIndex,
                 final ScrollDestination destination, final double padding) {
 
-            final double targetStartPx = (body.getDefaultRowHeight() * rowIndex)
-                    + body.spacerContainer
-                            .getSpacerHeightsSumUntilIndex(rowIndex);
+            final double targetStartPx = body.getRowTop(rowIndex);
             final double targetEndPx = targetStartPx
-                    + body.getDefaultRowHeight();
+                    + body.getRowHeight(rowIndex);
 
             final double viewportStartPx = getScrollTop();
             final double viewportEndPx = viewportStartPx
@@ -1152,10 +1380,10 @@ public class Escalator extends Widget implements RequiresResize,
          * Usually {@code "th"} or {@code "td"}.
          * <p>
          * <em>Note:</em> To actually <em>create</em> such an element, use
-         * {@link #createCellElement(int, int)} instead.
+         * {@link #createCellElement()} instead.
          * 
          * @return the tag name for the element to represent cells as
-         * @see #createCellElement(int, int)
+         * @see #createCellElement()
          */
         protected abstract String getCellElementTagName();
 
@@ -1389,15 +1617,13 @@ public class Escalator extends Widget implements RequiresResize,
                 tr.addClassName(getStylePrimaryName() + "-row");
 
                 for (int col = 0; col < columnConfiguration.getColumnCount(); col++) {
-                    final double colWidth = columnConfiguration
-                            .getColumnWidthActual(col);
-                    final TableCellElement cellElem = createCellElement(colWidth);
+                    final TableCellElement cellElem = createCellElement();
                     tr.appendChild(cellElem);
 
-                    // Set stylename and position if new cell is frozen
+                    // Set stylename if new cell is frozen. The column
+                    // stylesheet positions all frozen cells.
                     if (col < columnConfiguration.frozenColumns) {
                         cellElem.addClassName("frozen");
-                        position.set(cellElem, scroller.lastScrollLeft, 0);
                     }
                     if (columnConfiguration.frozenColumns > 0
                             && col == columnConfiguration.frozenColumns - 1) {
@@ -1407,7 +1633,6 @@ public class Escalator extends Widget implements RequiresResize,
 
                 referenceRow = paintInsertRow(referenceRow, tr, row);
             }
-            reapplyRowWidths();
 
             recalculateSectionHeight();
 
@@ -1523,13 +1748,12 @@ public class Escalator extends Widget implements RequiresResize,
 
         /**
          * Create and setup an empty cell element.
-         * 
-         * @param width
-         *            the width of the cell, in pixels
+         * <p>
+         * The width of the cell is applied by the {@link ColumnStyleSheet}.
          * 
          * @return a set-up empty cell element
          */
-        public TableCellElement createCellElement(final double width) {
+        public TableCellElement createCellElement() {
             final TableCellElement cellElem = TableCellElement.as(DOM
                     .createElement(getCellElementTagName()));
 
@@ -1537,9 +1761,6 @@ public class Escalator extends Widget implements RequiresResize,
             assert height >= 0 : "defaultRowHeight was negative. There's a setter leak somewhere.";
             cellElem.getStyle().setHeight(height, Unit.PX);
 
-            if (width >= 0) {
-                cellElem.getStyle().setWidth(width, Unit.PX);
-            }
             cellElem.addClassName(getStylePrimaryName() + "-cell");
             return cellElem;
         }
@@ -1592,7 +1813,6 @@ public class Escalator extends Widget implements RequiresResize,
                 int logicalRowIndex = getLogicalRowIndex(tr);
                 paintInsertCells(tr, logicalRowIndex, offset, numberOfColumns);
             }
-            reapplyRowWidths();
 
             if (frozen) {
                 for (int col = offset; col < offset + numberOfColumns; col++) {
@@ -1633,9 +1853,7 @@ public class Escalator extends Widget implements RequiresResize,
                     offset, numberOfCells);
 
             for (FlyweightCell cell : cells) {
-                final double colWidth = columnConfiguration
-                        .getColumnWidthActual(cell.getColumn());
-                final TableCellElement cellElem = createCellElement(colWidth);
+                final TableCellElement cellElem = createCellElement();
                 cell.setElement(cellElem);
             }
 
@@ -1660,11 +1878,8 @@ public class Escalator extends Widget implements RequiresResize,
         }
 
         public void setColumnFrozen(int column, boolean frozen) {
+            // The column stylesheet positions the cells with the class
             toggleFrozenColumnClass(column, frozen, "frozen");
-
-            if (frozen) {
-                updateFreezePosition(column, scroller.lastScrollLeft);
-            }
         }
 
         private void toggleFrozenColumnClass(int column, boolean frozen,
@@ -1691,19 +1906,6 @@ public class Escalator extends Widget implements RequiresResize,
             toggleFrozenColumnClass(column, lastFrozen, "last-frozen");
         }
 
-        public void updateFreezePosition(int column, double scrollLeft) {
-            final NodeList<TableRowElement> childRows = root.getRows();
-
-            for (int row = 0; row < childRows.getLength(); row++) {
-                final TableRowElement tr = childRows.getItem(row);
-
-                if (rowCanBeFrozen(tr)) {
-                    TableCellElement cell = tr.getCells().getItem(column);
-                    position.set(cell, scrollLeft, 0);
-                }
-            }
-        }
-
         /**
          * Checks whether a row is an element, or contains such elements, that
          * can be frozen.
@@ -1747,8 +1949,11 @@ public class Escalator extends Widget implements RequiresResize,
         }
 
         /**
-         * Reapplies all the cells' widths according to the calculated widths in
-         * the column configuration.
+         * Reapplies the widths of the cells that span several columns
+         * according to the calculated widths in the column configuration.
+         * <p>
+         * The widths of the other cells, and of the rows, are applied by the
+         * {@link ColumnStyleSheet}.
          */
         public void reapplyColumnWidths() {
             Element row = root.getFirstChildElement();
@@ -1758,14 +1963,16 @@ public class Escalator extends Widget implements RequiresResize,
                     Element cell = row.getFirstChildElement();
                     int columnIndex = 0;
                     while (cell != null) {
-                        final double width = getCalculatedColumnWidthWithColspan(
-                                cell, columnIndex);
-
                         /*
-                         * TODO Should Escalator implement ProvidesResize at
-                         * some point, this is where we need to do that.
+                         * Spanning cells are the only ones with an inline
+                         * width, set by FlyweightCell, which overrides the
+                         * stylesheet.
                          */
-                        cell.getStyle().setWidth(width, Unit.PX);
+                        if (!cell.getStyle().getWidth().isEmpty()) {
+                            final double width = getCalculatedColumnWidthWithColspan(
+                                    cell, columnIndex);
+                            cell.getStyle().setWidth(width, Unit.PX);
+                        }
 
                         cell = cell.getNextSiblingElement();
                         columnIndex++;
@@ -1773,8 +1980,6 @@ public class Escalator extends Widget implements RequiresResize,
                 }
                 row = row.getNextSiblingElement();
             }
-
-            reapplyRowWidths();
         }
 
         private double getCalculatedColumnWidthWithColspan(final Element cell,
@@ -1794,32 +1999,6 @@ public class Escalator extends Widget implements RequiresResize,
                     .getCalculatedColumnsWidth(spannedColumns);
         }
 
-        /**
-         * Applies the total length of the columns to each row element.
-         * <p>
-         * <em>Note:</em> In contrast to {@link #reapplyColumnWidths()}, this
-         * method only modifies the width of the {@code <tr>} element, not the
-         * cells within.
-         */
-        protected void reapplyRowWidths() {
-            double rowWidth = columnConfiguration.calculateRowWidth();
-            if (rowWidth < 0) {
-                return;
-            }
-
-            Element row = root.getFirstChildElement();
-            while (row != null) {
-                // IF there is a rounding error when summing the columns, we
-                // need to round the tr width up to ensure that columns fit and
-                // do not wrap
-                // E.g.122.95+123.25+103.75+209.25+83.52+88.57+263.45+131.21+126.85+113.13=1365.9299999999998
-                // For this we must set 1365.93 or the last column will wrap
-                row.getStyle().setWidth(WidgetUtil.roundSizeUp(rowWidth),
-                        Unit.PX);
-                row = row.getNextSiblingElement();
-            }
-        }
-
         /**
          * The primary style name for the container.
          * 
@@ -2021,7 +2200,28 @@ public class Escalator extends Widget implements RequiresResize,
             return new Cell(domRowIndex, domColumnIndex, cellElement);
         }
 
-        double measureCellWidth(TableCellElement cell, boolean withContent) {
+        /**
+         * Inserts a clone of the cells in the given columns next to each
+         * original cell, so that the widths required by the contents of all
+         * the cells can be measured in a single layout, instead of in a layout
+         * per cell.
+         * <p>
+         * The clones need to be removed from the DOM once they have been
+         * measured.
+         * 
+         * @param columns
+         *            the indices of the columns to clone the cells of
+         * @param withContent
+         *            <code>true</code> if content is taken into account,
+         *            <code>false</code> if not
+         * @param clones
+         *            the lists to add the clones to, one list per index in
+         *            <code>columns</code>
+         */
+        void insertMeasuringClones(int[] columns, boolean withContent,
+                List<List<TableCellElement>> clones) {
+            assert isAttached() : "Can't measure max width of cell, since Escalator is not attached to the DOM.";
+
             /*
              * To get the actual width of the contents, we need to get the cell
              * content without any hardcoded height or width.
@@ -2032,56 +2232,61 @@ public class Escalator extends Widget implements RequiresResize,
              * explicit dimensions, and measure that instead.
              */
 
-            TableCellElement cellClone = TableCellElement.as((Element) cell
-                    .cloneNode(withContent));
-            cellClone.getStyle().clearHeight();
-            cellClone.getStyle().clearWidth();
-
-            cell.getParentElement().insertBefore(cellClone, cell);
-            double requiredWidth = WidgetUtil
-                    .getRequiredWidthBoundingClientRectDouble(cellClone);
-            if (BrowserInfo.get().isIE()) {
-                /*
-                 * IE browsers have some issues with subpixels. Occasionally
-                 * content is overflown even if not necessary. Increase the
-                 * counted required size by 0.01 just to be on the safe side.
-                 */
-                requiredWidth += 0.01;
-            }
+            NodeList<TableRowElement> rows = root.getRows();
+            TableCellElement[] cells = new TableCellElement[columns.length];
+            int measuredRows = 0;
+            for (int row = 0; row < rows.getLength()
+                    && measuredRows < getMeasuredRowLimit(); row++) {
+                TableRowElement tr = rows.getItem(row);
+                if (body.spacerContainer.isSpacer(tr)) {
+                    continue;
+                }
+                measuredRows++;
 
-            cellClone.removeFromParent();
+                // Look up all the cells before the clones shift the indices
+                for (int i = 0; i < columns.length; i++) {
+                    cells[i] = tr.getCells().getItem(columns[i]);
+                }
 
-            return requiredWidth;
+                for (int i = 0; i < columns.length; i++) {
+                    TableCellElement cell = cells[i];
+                    if (cell != null && !cellIsPartOfSpan(cell)
+                            && isCellRendered(tr, columns[i])) {
+                        TableCellElement cellClone = TableCellElement
+                                .as((Element) cell.cloneNode(withContent));
+                        cellClone.getStyle().clearHeight();
+                        // Overrides the width from the column stylesheet
+                        cellClone.getStyle().setProperty("width", "auto");
+
+                        tr.insertBefore(cellClone, cell);
+                        clones.get(i).add(cellClone);
+                    }
+                }
+            }
         }
 
         /**
-         * Gets the minimum width needed to display the cell properly.
+         * Gets the maximum number of rows whose cells are measured when
+         * calculating the widths of columns from their contents.
          * 
-         * @param colIndex
-         *            index of column to measure
-         * @param withContent
-         *            <code>true</code> if content is taken into account,
-         *            <code>false</code> if not
-         * @return cell width needed for displaying correctly
+         * @return the maximum number of rows to measure
          */
-        double measureMinCellWidth(int colIndex, boolean withContent) {
-            assert isAttached() : "Can't measure max width of cell, since Escalator is not attached to the DOM.";
-
-            double minCellWidth = -1;
-            NodeList<TableRowElement> rows = root.getRows();
-
-            for (int row = 0; row < rows.getLength(); row++) {
-
-                TableCellElement cell = rows.getItem(row).getCells()
-                        .getItem(colIndex);
-
-                if (cell != null && !cellIsPartOfSpan(cell)) {
-                    double cellWidth = measureCellWidth(cell, withContent);
-                    minCellWidth = Math.max(minCellWidth, cellWidth);
-                }
-            }
+        protected int getMeasuredRowLimit() {
+            return Integer.MAX_VALUE;
+        }
 
-            return minCellWidth;
+        /**
+         * Checks whether the cell of a row in a column is up to date, so that
+         * its contents can be measured.
+         * 
+         * @param tr
+         *            the row element
+         * @param column
+         *            the index of the column
+         * @return <code>true</code> if the cell has been rendered
+         */
+        protected boolean isCellRendered(TableRowElement tr, int column) {
+            return true;
         }
 
         private boolean cellIsPartOfSpan(TableCellElement cell) {
@@ -2171,13 +2376,13 @@ public class Escalator extends Widget implements RequiresResize,
              * If Escalator, at some point, gets a JIT evaluation functionality,
              * this re-setting is a strong candidate for removal.
              */
-            double oldScrollPos = verticalScrollbar.getScrollPos();
+            double oldScrollPos = scroller.getScrollTop();
 
             super.removeRows(index, numberOfRows);
             recalculateElementSizes();
             applyHeightByRows();
 
-            verticalScrollbar.setScrollPos(oldScrollPos);
+            scroller.setScrollTop(oldScrollPos);
         }
 
         @Override
@@ -2348,10 +2553,6 @@ public class Escalator extends Widget implements RequiresResize,
 
     private class BodyRowContainerImpl extends AbstractRowContainer implements
             BodyRowContainer {
-        /*
-         * TODO [[optimize]]: check whether a native JsArray might be faster
-         * than LinkedList
-         */
         /**
          * The order in which row elements are rendered visually in the browser,
          * with the help of CSS tricks. Usually has nothing to do with the DOM
@@ -2359,7 +2560,7 @@ public class Escalator extends Widget implements RequiresResize,
          * 
          * @see #sortDomElements()
          */
-        private final LinkedList<TableRowElement> visualRowOrder = new LinkedList<TableRowElement>();
+        private final VisualRowOrder visualRowOrder = new VisualRowOrder();
 
         /**
          * The logical index of the topmost row.
@@ -2419,8 +2620,53 @@ public class Escalator extends Widget implements RequiresResize,
 
         private DeferredDomSorter domSorter = new DeferredDomSorter();
 
+        /**
+         * The height of the table wrapper measured before updating the
+         * contents on scroll, or -1 if it should be read from the DOM.
+         */
+        private int measuredTableHeight = -1;
+
         private final SpacerContainer spacerContainer = new SpacerContainer();
 
+        private final RowHeightIndex rowHeights = new RowHeightIndex();
+
+        /**
+         * Whether rows are measured after being refreshed, instead of all of
+         * them being of the default row height.
+         */
+        private boolean variableRowHeights = false;
+
+        /**
+         * The number of extra rows kept rendered above and below the
+         * viewport.
+         */
+        private int overscan = 0;
+
+        /**
+         * Whether only the cells of the frozen columns and the columns in the
+         * horizontal viewport are rendered.
+         */
+        private boolean columnVirtualization = false;
+
+        /**
+         * The number of rows measured when calculating column widths from
+         * their contents, or 0 to measure all rows in the DOM.
+         */
+        private int autoWidthSampleSize = 0;
+
+        /** The non-frozen columns in the horizontal viewport. */
+        private Range visibleColumns = Range.withLength(0, 0);
+
+        /** Rows refreshed since the last measurement. */
+        private final List<TableRowElement> rowsToMeasure = new ArrayList<TableRowElement>();
+
+        private final ScheduledCommand rowMeasurer = new ScheduledCommand() {
+            @Override
+            public void execute() {
+                measureRowHeights();
+            }
+        };
+
         public BodyRowContainerImpl(final TableSectionElement bodyElement) {
             super(bodyElement);
         }
@@ -2432,6 +2678,14 @@ public class Escalator extends Widget implements RequiresResize,
             spacerContainer.setStylePrimaryName(primaryStyleName);
         }
 
+        @Override
+        public void reapplyColumnWidths() {
+            /*
+             * Body cells don't span columns, so their widths are all applied
+             * by the column stylesheet, and there's no need to walk the rows.
+             */
+        }
+
         public void updateEscalatorRowsOnScroll() {
             if (visualRowOrder.isEmpty()) {
                 return;
@@ -2444,19 +2698,26 @@ public class Escalator extends Widget implements RequiresResize,
             SpacerContainer.SpacerImpl topSpacer = spacerContainer
                     .getSpacer(getTopRowLogicalIndex() - 1);
 
+            final double topRowHeight = getRowHeight(getTopRowLogicalIndex());
             if (topSpacer != null) {
                 topElementPosition = topSpacer.getTop();
-                nextRowBottomOffset = topSpacer.getHeight()
-                        + getDefaultRowHeight();
+                nextRowBottomOffset = topSpacer.getHeight() + topRowHeight;
             } else {
                 topElementPosition = getRowTop(visualRowOrder.getFirst());
-                nextRowBottomOffset = getDefaultRowHeight();
+                nextRowBottomOffset = topRowHeight;
             }
 
-            // TODO [[mpixscroll]]
             final double scrollTop = tBodyScrollTop;
             final double viewportOffset = topElementPosition - scrollTop;
 
+            /*
+             * With overscan, the rows are only moved once the overscan rows on
+             * either side of the viewport run out, and they are then moved so
+             * that there are overscan rows on both sides again.
+             */
+            final double overscanPx = overscan * getDefaultRowHeight();
+            final double overscanTop = Math.max(0, scrollTop - overscanPx);
+
             /*
              * TODO [[optimize]] this if-else can most probably be refactored
              * into a neater block of code
@@ -2465,16 +2726,14 @@ public class Escalator extends Widget implements RequiresResize,
             if (viewportOffset > 0) {
                 // there's empty room on top
 
-                double rowPx = getRowHeightsSumBetweenPx(scrollTop,
-                        topElementPosition);
-                int originalRowsToMove = (int) Math.ceil(rowPx
-                        / getDefaultRowHeight());
+                final int logicalRowIndex = getLogicalRowIndex(overscanTop);
+                int originalRowsToMove = getTopRowLogicalIndex()
+                        - logicalRowIndex;
                 int rowsToMove = Math.min(originalRowsToMove,
                         visualRowOrder.size());
 
                 final int end = visualRowOrder.size();
                 final int start = end - rowsToMove;
-                final int logicalRowIndex = getLogicalRowIndex(scrollTop);
 
                 moveAndUpdateEscalatorRows(Range.between(start, end), 0,
                         logicalRowIndex);
@@ -2484,21 +2743,21 @@ public class Escalator extends Widget implements RequiresResize,
                 rowsWereMoved = true;
             }
 
-            else if (viewportOffset + nextRowBottomOffset <= 0) {
+            else if (viewportOffset + nextRowBottomOffset <= -2 * overscanPx) {
                 /*
                  * the viewport has been scrolled more than the topmost visual
-                 * row.
+                 * row (and the overscan rows below it).
                  */
 
-                double rowPx = getRowHeightsSumBetweenPx(topElementPosition,
-                        scrollTop);
-
-                int originalRowsToMove = (int) (rowPx / getDefaultRowHeight());
+                int originalRowsToMove = getLogicalRowIndex(overscanTop)
+                        - getTopRowLogicalIndex();
                 int rowsToMove = Math.min(originalRowsToMove,
                         visualRowOrder.size());
 
                 int logicalRowIndex;
-                if (rowsToMove < visualRowOrder.size()) {
+                final boolean allRowsAreMoved = rowsToMove >= visualRowOrder
+                        .size();
+                if (!allRowsAreMoved) {
                     /*
                      * We scroll so little that we can just keep adding the rows
                      * below the current escalator
@@ -2511,7 +2770,7 @@ public class Escalator extends Widget implements RequiresResize,
                      * calculate the first logical row index from the scroll
                      * position.
                      */
-                    logicalRowIndex = getLogicalRowIndex(scrollTop);
+                    logicalRowIndex = getLogicalRowIndex(overscanTop);
                 }
 
                 /*
@@ -2550,9 +2809,18 @@ public class Escalator extends Widget implements RequiresResize,
                     /*
                      * To keep visualRowOrder as a spatially contiguous block of
                      * rows, let's make sure that the one row we didn't move
-                     * visually still stays with the pack.
+                     * visually still stays with the pack. With overscan, all
+                     * the rows that weren't moved may be stray, if we were
+                     * supposed to move all of them.
                      */
-                    final Range strayRow = Range.withOnly(0);
+                    final Range strayRow;
+                    if (allRowsAreMoved) {
+                        int rowsLeftBehind = visualRowOrder.size() - rowsToMove;
+                        strayRow = Range.withLength(0,
+                                Math.max(1, rowsLeftBehind));
+                    } else {
+                        strayRow = Range.withOnly(0);
+                    }
 
                     /*
                      * We cannot trust getLogicalRowIndex, because it hasn't yet
@@ -2581,20 +2849,12 @@ public class Escalator extends Widget implements RequiresResize,
             }
         }
 
-        private double getRowHeightsSumBetweenPx(double y1, double y2) {
-            assert y1 < y2 : "y1 must be smaller than y2";
-
-            double viewportPx = y2 - y1;
-            double spacerPx = spacerContainer.getSpacerHeightsSumBetweenPx(y1,
-                    SpacerInclusionStrategy.PARTIAL, y2,
-                    SpacerInclusionStrategy.PARTIAL);
-
-            return viewportPx - spacerPx;
-        }
-
         private int getLogicalRowIndex(final double px) {
             double rowPx = px - spacerContainer.getSpacerHeightsSumUntilPx(px);
-            return (int) (rowPx / getDefaultRowHeight());
+            if (rowHeights.isEmpty()) {
+                return (int) (rowPx / getDefaultRowHeight());
+            }
+            return rowHeights.getRowAt(rowPx, getDefaultRowHeight());
         }
 
         @Override
@@ -2603,7 +2863,9 @@ public class Escalator extends Widget implements RequiresResize,
                 return;
             }
 
-            spacerContainer.shiftSpacersByRows(index, numberOfRows);
+            rowHeights.insertRows(index, numberOfRows);
+            spacerContainer.shiftSpacersByRows(index, numberOfRows,
+                    numberOfRows * getDefaultRowHeight());
 
             /*
              * TODO: this method should probably only add physical rows, and not
@@ -2622,12 +2884,20 @@ public class Escalator extends Widget implements RequiresResize,
              */
             scroller.recalculateScrollbarsForVirtualViewport();
 
-            final boolean addedRowsAboveCurrentViewport = index
-                    * getDefaultRowHeight() < getScrollTop();
-            final boolean addedRowsBelowCurrentViewport = index
-                    * getDefaultRowHeight() > getScrollTop()
+            final double addedRowsTop = getRowHeightsSumUntilIndex(index);
+            final boolean addedRowsAboveCurrentViewport = addedRowsTop < getScrollTop();
+            final boolean addedRowsBelowCurrentViewport = addedRowsTop > getScrollTop()
                     + getHeightOfSection();
 
+            /*
+             * Overscan rows may be rendered above or below the viewport, on
+             * the far side of the added rows.
+             */
+            final int overscanRowsAboveAddedRows = Math.min(
+                    index - getTopRowLogicalIndex(), visualRowOrder.size());
+            final boolean addedRowsBelowEscalatorRows = overscan == 0
+                    || index >= getTopRowLogicalIndex() + visualRowOrder.size();
+
             if (addedRowsAboveCurrentViewport) {
                 /*
                  * We need to tweak the virtual viewport (scroll handle
@@ -2636,11 +2906,22 @@ public class Escalator extends Widget implements RequiresResize,
                  */
 
                 final double yDelta = numberOfRows * getDefaultRowHeight();
-                moveViewportAndContent(yDelta);
+                moveViewportAndContent(yDelta, yDelta, numberOfRows);
                 updateTopRowLogicalIndex(numberOfRows);
+
+                if (overscan > 0 && overscanRowsAboveAddedRows > 0) {
+                    /*
+                     * The overscan rows above the added rows were moved along,
+                     * but they now represent other rows.
+                     */
+                    moveAndUpdateEscalatorRows(
+                            Range.withLength(0, overscanRowsAboveAddedRows), 0,
+                            getTopRowLogicalIndex());
+                }
             }
 
-            else if (addedRowsBelowCurrentViewport) {
+            else if (addedRowsBelowCurrentViewport
+                    && addedRowsBelowEscalatorRows) {
                 // NOOP, we already recalculated scrollbars.
             }
 
@@ -2671,8 +2952,8 @@ public class Escalator extends Widget implements RequiresResize,
                             visualTargetIndex, unupdatedLogicalStart);
 
                     // move the surrounding rows to their correct places.
-                    double rowTop = (unupdatedLogicalStart + (end - start))
-                            * getDefaultRowHeight();
+                    int logicalIndex = unupdatedLogicalStart + (end - start);
+                    double rowTop = getRowHeightsSumUntilIndex(logicalIndex);
 
                     // TODO: Get rid of this try/catch block by fixing the
                     // underlying issue. The reason for this erroneous behavior
@@ -2689,7 +2970,7 @@ public class Escalator extends Widget implements RequiresResize,
 
                             final TableRowElement tr = i.next();
                             setRowPosition(tr, 0, rowTop);
-                            rowTop += getDefaultRowHeight();
+                            rowTop += getRowHeight(logicalIndex++);
                         }
                     } catch (Exception e) {
                         Logger logger = getLogger();
@@ -2774,21 +3055,8 @@ public class Escalator extends Widget implements RequiresResize,
                  * places)
                  */
 
-                /*
-                 * TODO [[optimize]]: move whichever set is smaller: the ones
-                 * explicitly moved, or the others. So, with 10 escalator rows,
-                 * if we are asked to move idx[0..8] to the end of the list,
-                 * it's faster to just move idx[9] to the beginning.
-                 */
-
-                final List<TableRowElement> removedRows = new ArrayList<TableRowElement>(
-                        visualSourceRange.length());
-                for (int i = 0; i < visualSourceRange.length(); i++) {
-                    final TableRowElement tr = visualRowOrder
-                            .remove(visualSourceRange.getStart());
-                    removedRows.add(tr);
-                }
-                visualRowOrder.addAll(adjustedVisualTargetIndex, removedRows);
+                visualRowOrder.move(visualSourceRange.getStart(),
+                        visualSourceRange.length(), adjustedVisualTargetIndex);
             }
 
             { // Refresh the contents of the affected rows
@@ -2810,7 +3078,7 @@ public class Escalator extends Widget implements RequiresResize,
                     final TableRowElement tr = iter.next();
                     setRowPosition(tr, 0, newRowTop);
 
-                    newRowTop += getDefaultRowHeight();
+                    newRowTop += getRowHeight(logicalTargetIndex + i);
                     newRowTop += spacerContainer
                             .getSpacerHeight(logicalTargetIndex + i);
                 }
@@ -2843,17 +3111,36 @@ public class Escalator extends Widget implements RequiresResize,
          *            while a negative value moves everything upwards
          */
         public void moveViewportAndContent(final double yDelta) {
+            final double defaultRowHeight = getDefaultRowHeight();
+            double rowPxDelta = yDelta - (yDelta % defaultRowHeight);
+            int rowIndexDelta = (int) (yDelta / defaultRowHeight);
+            moveViewportAndContent(yDelta, rowPxDelta, rowIndexDelta);
+        }
+
+        /**
+         * Adjust the scroll position and move the contained rows by a known
+         * amount of rows.
+         * <p>
+         * Unlike {@link #moveViewportAndContent(double)}, this doesn't assume
+         * that the rows are of the default row height.
+         * 
+         * @param yDelta
+         *            the delta of pixels by which to move the viewport
+         * @param rowPxDelta
+         *            the delta of pixels by which to move the content
+         * @param rowIndexDelta
+         *            the number of rows the content is moved by
+         */
+        private void moveViewportAndContent(final double yDelta,
+                final double rowPxDelta, final int rowIndexDelta) {
 
             if (yDelta == 0) {
                 return;
             }
 
             double newTop = tBodyScrollTop + yDelta;
-            verticalScrollbar.setScrollPos(newTop);
+            scroller.setScrollTop(newTop);
 
-            final double defaultRowHeight = getDefaultRowHeight();
-            double rowPxDelta = yDelta - (yDelta % defaultRowHeight);
-            int rowIndexDelta = (int) (yDelta / defaultRowHeight);
             if (!WidgetUtil.pixelValuesEqual(rowPxDelta, 0)) {
 
                 Collection<SpacerContainer.SpacerImpl> spacers = spacerContainer
@@ -2901,8 +3188,7 @@ public class Escalator extends Widget implements RequiresResize,
                         index, escalatorRowsNeeded);
                 visualRowOrder.addAll(index, addedRows);
 
-                double y = index * getDefaultRowHeight()
-                        + spacerContainer.getSpacerHeightsSumUntilIndex(index);
+                double y = getRowTop(index);
                 for (int i = index; i < visualRowOrder.size(); i++) {
 
                     final TableRowElement tr;
@@ -2913,7 +3199,7 @@ public class Escalator extends Widget implements RequiresResize,
                     }
 
                     setRowPosition(tr, 0, y);
-                    y += getDefaultRowHeight();
+                    y += getRowHeight(i);
                     y += spacerContainer.getSpacerHeight(i);
                 }
 
@@ -2923,16 +3209,28 @@ public class Escalator extends Widget implements RequiresResize,
             }
         }
 
-        private int getMaxEscalatorRowCapacity() {
-            final int maxEscalatorRowCapacity = (int) Math
+        private int getMaxVisibleRowCapacity() {
+            /*
+             * Rows are never lower than the default row height, so this is
+             * enough rows to fill the viewport also with variable row heights.
+             */
+            final int maxVisibleRowCapacity = (int) Math
                     .ceil(getHeightOfSection() / getDefaultRowHeight()) + 1;
 
             /*
-             * maxEscalatorRowCapacity can become negative if the headers and
+             * maxVisibleRowCapacity can become negative if the headers and
              * footers start to overlap. This is a crazy situation, but Vaadin
              * blinks the components a lot, so it's feasible.
              */
-            return Math.max(0, maxEscalatorRowCapacity);
+            return Math.max(0, maxVisibleRowCapacity);
+        }
+
+        private int getMaxEscalatorRowCapacity() {
+            final int maxVisibleRowCapacity = getMaxVisibleRowCapacity();
+            if (maxVisibleRowCapacity == 0) {
+                return 0;
+            }
+            return maxVisibleRowCapacity + 2 * overscan;
         }
 
         @Override
@@ -2945,6 +3243,20 @@ public class Escalator extends Widget implements RequiresResize,
             final Range removedRowsRange = Range
                     .withLength(index, numberOfRows);
 
+            final Range[] partitions = removedRowsRange
+                    .partitionWith(viewportRange);
+            final Range removedAbove = partitions[0];
+            final Range removedLogicalInside = partitions[1];
+            final Range removedVisualInside = convertToVisual(removedLogicalInside);
+
+            // The heights of the removed rows are needed after removing them
+            final double removedRowsHeight = getRowHeightsSumUntilIndex(removedRowsRange
+                    .getEnd()) - getRowHeightsSumUntilIndex(index);
+            final double removedAboveHeight = getRowHeightsSumUntilIndex(removedAbove
+                    .getEnd())
+                    - getRowHeightsSumUntilIndex(removedAbove.getStart());
+            rowHeights.removeRows(index, numberOfRows);
+
             /*
              * Removing spacers as the very first step will correct the
              * scrollbars and row offsets right away.
@@ -2955,13 +3267,8 @@ public class Escalator extends Widget implements RequiresResize,
              * them if they happen to end up on top of each other. This would
              * probably make supporting the -1 row pretty easy, too.
              */
-            spacerContainer.paintRemoveSpacers(removedRowsRange);
-
-            final Range[] partitions = removedRowsRange
-                    .partitionWith(viewportRange);
-            final Range removedAbove = partitions[0];
-            final Range removedLogicalInside = partitions[1];
-            final Range removedVisualInside = convertToVisual(removedLogicalInside);
+            spacerContainer.paintRemoveSpacers(removedRowsRange,
+                    removedRowsHeight);
 
             /*
              * TODO: extract the following if-block to a separate method. I'll
@@ -2989,11 +3296,10 @@ public class Escalator extends Widget implements RequiresResize,
                     .isEmpty() && removedVisualInside.getStart() == 0;
 
             if (!removedAbove.isEmpty() || firstVisualRowIsRemoved) {
-                final double yDelta = removedAbove.length()
-                        * getDefaultRowHeight();
-                final double firstLogicalRowHeight = getDefaultRowHeight();
-                final boolean removalScrollsToShowFirstLogicalRow = verticalScrollbar
-                        .getScrollPos() - yDelta < firstLogicalRowHeight;
+                final double yDelta = removedAboveHeight;
+                final double firstLogicalRowHeight = getRowHeight(0);
+                final boolean removalScrollsToShowFirstLogicalRow = scroller
+                        .getScrollTop() - yDelta < firstLogicalRowHeight;
 
                 if (removedVisualInside.isEmpty()
                         && (!removalScrollsToShowFirstLogicalRow || !firstVisualRowIsRemoved)) {
@@ -3002,7 +3308,8 @@ public class Escalator extends Widget implements RequiresResize,
                      * to do is to adjust the scroll position to account for the
                      * removed rows
                      */
-                    moveViewportAndContent(-yDelta);
+                    moveViewportAndContent(-yDelta, -yDelta,
+                            -removedAbove.length());
                 } else if (removalScrollsToShowFirstLogicalRow) {
                     /*
                      * It seems like we've removed all rows from above, and also
@@ -3011,7 +3318,7 @@ public class Escalator extends Widget implements RequiresResize,
                      * current negative scrolltop, presto!), so that it isn't
                      * aligned funnily
                      */
-                    moveViewportAndContent(-verticalScrollbar.getScrollPos());
+                    moveViewportAndContent(-scroller.getScrollTop());
                 }
             }
 
@@ -3024,7 +3331,26 @@ public class Escalator extends Widget implements RequiresResize,
                  * count at this point
                  */
                 int rowsLeft = getRowCount();
-                if (rowsLeft < escalatorRowCount) {
+                if (overscan > 0 && rowsLeft >= escalatorRowCount) {
+                    /*
+                     * The special cases below expect the escalator rows to
+                     * only just cover the viewport. With overscan rows, we
+                     * simply render all the escalator rows again, keeping
+                     * them within the remaining rows.
+                     */
+                    final int topLogicalIndex = Math.max(0, Math.min(
+                            getTopRowLogicalIndex() - removedAbove.length(),
+                            rowsLeft - escalatorRowCount));
+                    moveAndUpdateEscalatorRows(
+                            Range.withLength(0, escalatorRowCount), 0,
+                            topLogicalIndex);
+
+                    // the rows removed above are subtracted below
+                    setTopRowLogicalIndex(topLogicalIndex
+                            + removedAbove.length());
+                }
+
+                else if (rowsLeft < escalatorRowCount) {
                     int escalatorRowsToRemove = escalatorRowCount - rowsLeft;
                     for (int i = 0; i < escalatorRowsToRemove; i++) {
                         final TableRowElement tr = visualRowOrder
@@ -3052,7 +3378,7 @@ public class Escalator extends Widget implements RequiresResize,
                     for (int i = dirtyRowsStart; i < escalatorRowCount; i++) {
                         final TableRowElement tr = visualRowOrder.get(i);
                         setRowPosition(tr, 0, y);
-                        y += getDefaultRowHeight();
+                        y += getRowHeight(i);
                         y += spacerContainer.getSpacerHeight(i);
                     }
 
@@ -3092,8 +3418,8 @@ public class Escalator extends Widget implements RequiresResize,
                      * double-refreshing.
                      */
 
-                    final double contentBottom = getRowCount()
-                            * getDefaultRowHeight();
+                    final double contentBottom = getRowHeightsSumUntilIndex(
+                            getRowCount());
                     final double viewportBottom = tBodyScrollTop
                             + getHeightOfSection();
                     if (viewportBottom <= contentBottom) {
@@ -3115,8 +3441,8 @@ public class Escalator extends Widget implements RequiresResize,
                          */
 
                         double left = horizontalScrollbar.getScrollPos();
-                        double top = contentBottom - visualRowOrder.size()
-                                * getDefaultRowHeight();
+                        double top = getRowHeightsSumUntilIndex(getRowCount()
+                                - visualRowOrder.size());
                         setBodyScrollPosition(left, top);
 
                         Range allEscalatorRows = Range.withLength(0,
@@ -3146,8 +3472,7 @@ public class Escalator extends Widget implements RequiresResize,
                          */
                     }
 
-                    else if (contentBottom
-                            + (numberOfRows * getDefaultRowHeight())
+                    else if (contentBottom + removedRowsHeight
                             - viewportBottom < getDefaultRowHeight()) {
                         /*
                          * We're at the end of the row container, everything is
@@ -3209,16 +3534,16 @@ public class Escalator extends Widget implements RequiresResize,
                          */
                         double newTop = getRowTop(visualRowOrder
                                 .get(removedVisualInside.getStart()));
-                        for (int i = 0; i < removedVisualInside.length(); i++) {
-                            final TableRowElement tr = visualRowOrder
-                                    .remove(removedVisualInside.getStart());
-                            visualRowOrder.addLast(tr);
-                        }
+                        visualRowOrder.move(removedVisualInside.getStart(),
+                                removedVisualInside.length(),
+                                visualRowOrder.size()
+                                        - removedVisualInside.length());
 
                         for (int i = removedVisualInside.getStart(); i < escalatorRowCount; i++) {
                             final TableRowElement tr = visualRowOrder.get(i);
-                            setRowPosition(tr, 0, (int) newTop);
-                            newTop += getDefaultRowHeight();
+                            setRowPosition(tr, 0, newTop);
+                            newTop += getRowHeight(i
+                                    + removedLogicalInside.getStart());
                             newTop += spacerContainer.getSpacerHeight(i
                                     + removedLogicalInside.getStart());
                         }
@@ -3325,7 +3650,7 @@ public class Escalator extends Widget implements RequiresResize,
                     - removedVisualInside.length(); i++) {
                 final TableRowElement tr = iterator.next();
                 setRowPosition(tr, 0, rowTop);
-                rowTop += getDefaultRowHeight();
+                rowTop += getRowHeight(i + removedLogicalInside.getStart());
                 rowTop += spacerContainer.getSpacerHeight(i
                         + removedLogicalInside.getStart());
             }
@@ -3356,7 +3681,7 @@ public class Escalator extends Widget implements RequiresResize,
             while (iterator.hasNext()) {
                 final TableRowElement tr = iterator.next();
                 setRowPosition(tr, 0, rowTop);
-                rowTop += getDefaultRowHeight();
+                rowTop += getRowHeight(firstUpdatedIndex + i);
                 rowTop += spacerContainer.getSpacerHeight(firstUpdatedIndex
                         + i++);
             }
@@ -3424,9 +3749,29 @@ public class Escalator extends Widget implements RequiresResize,
             return "td";
         }
 
+        /**
+         * Reads the height of the table wrapper and uses it until
+         * {@link #clearMeasuredHeightOfSection()} is called, so that it isn't
+         * read again after the DOM has been modified.
+         */
+        private void measureHeightOfSection() {
+            measuredTableHeight = tableWrapper.getOffsetHeight();
+        }
+
+        private int getTableWrapperHeight() {
+            if (measuredTableHeight >= 0) {
+                return measuredTableHeight;
+            }
+            return tableWrapper.getOffsetHeight();
+        }
+
+        private void clearMeasuredHeightOfSection() {
+            measuredTableHeight = -1;
+        }
+
         @Override
         protected double getHeightOfSection() {
-            final int tableHeight = tableWrapper.getOffsetHeight();
+            final int tableHeight = getTableWrapperHeight();
             final double footerHeight = footer.getHeightOfSection();
             final double headerHeight = header.getHeightOfSection();
 
@@ -3484,8 +3829,19 @@ public class Escalator extends Widget implements RequiresResize,
                 final double scrollTop) {
             tBodyScrollLeft = scrollLeft;
             tBodyScrollTop = scrollTop;
-            position.set(bodyElem, -tBodyScrollLeft, -tBodyScrollTop);
-            position.set(spacerDecoContainer, 0, -tBodyScrollTop);
+
+            /*
+             * [[mpixscroll]]: Far down the body, the row positions would be
+             * too large to be rendered precisely, so they are kept relative to
+             * an origin near the scroll position.
+             */
+            double originDistance = Math.abs(scrollTop - positions.getOrigin());
+            if (originDistance > MAX_CONTENT_ORIGIN_DISTANCE) {
+                positions.setOrigin(Math.floor(scrollTop));
+            }
+            double bodyTop = tBodyScrollTop - positions.getOrigin();
+            position.set(bodyElem, -tBodyScrollLeft, -bodyTop);
+            position.set(spacerDecoContainer, 0, -bodyTop);
         }
 
         /**
@@ -3625,11 +3981,13 @@ public class Escalator extends Widget implements RequiresResize,
                  * bottom.
                  */
 
-                if (!visualRowOrder.isEmpty()) {
+                if (overscan > 0) {
+                    updateEscalatorRowsOnScroll();
+                } else if (!visualRowOrder.isEmpty()) {
                     final double firstRowTop = getRowTop(visualRowOrder
                             .getFirst());
                     final double firstRowMinTop = tBodyScrollTop
-                            - getDefaultRowHeight();
+                            - getRowHeight(getTopRowLogicalIndex());
                     if (firstRowTop < firstRowMinTop) {
                         final int newLogicalIndex = getLogicalRowIndex(visualRowOrder
                                 .getLast()) + 1;
@@ -3648,12 +4006,23 @@ public class Escalator extends Widget implements RequiresResize,
 
         @Override
         protected void reapplyDefaultRowHeights() {
+            /*
+             * The measured heights are relative to the old default row height,
+             * so the rows need to be measured again.
+             */
+            rowHeights.clear();
+
             if (visualRowOrder.isEmpty()) {
                 return;
             }
 
             Profiler.enter("Escalator.BodyRowContainer.reapplyDefaultRowHeights");
 
+            if (variableRowHeights) {
+                rowsToMeasure.addAll(visualRowOrder);
+                Scheduler.get().scheduleFinally(rowMeasurer);
+            }
+
             /* step 1: resize and reposition rows */
             for (int i = 0; i < visualRowOrder.size(); i++) {
                 TableRowElement tr = visualRowOrder.get(i);
@@ -3673,13 +4042,13 @@ public class Escalator extends Widget implements RequiresResize,
              * scroll position) in order to align the top row with the new
              * scroll position.
              */
-            double scrollRatio = verticalScrollbar.getScrollPos()
-                    / verticalScrollbar.getScrollSize();
+            double scrollRatio = scroller.getScrollTop()
+                    / scroller.getScrollSize();
             scroller.recalculateScrollbarsForVirtualViewport();
-            verticalScrollbar.setScrollPos((int) (getDefaultRowHeight()
+            scroller.setScrollTop(Math.floor(getDefaultRowHeight()
                     * getRowCount() * scrollRatio));
             setBodyScrollPosition(horizontalScrollbar.getScrollPos(),
-                    verticalScrollbar.getScrollPos());
+                    scroller.getScrollTop());
             scroller.onScroll();
 
             /* step 3: make sure we have the correct amount of escalator rows. */
@@ -3713,24 +4082,6 @@ public class Escalator extends Widget implements RequiresResize,
                         || body.spacerContainer.isSpacer(focusedRow) : "Trying to sort around a row that doesn't exist in visualRowOrder or is not a spacer.";
             }
 
-            /*
-             * Two cases handled simultaneously:
-             * 
-             * 1) No focus on rows. We iterate visualRowOrder backwards, and
-             * take the respective element in the DOM, and place it as the first
-             * child in the body element. Then we take the next-to-last from
-             * visualRowOrder, and put that first, pushing the previous row as
-             * the second child. And so on...
-             * 
-             * 2) Focus on some row within Escalator body. Again, we iterate
-             * visualRowOrder backwards. This time, we use the focused row as a
-             * pivot: Instead of placing rows from the bottom of visualRowOrder
-             * and placing it first, we place it underneath the focused row.
-             * Once we hit the focused row, we don't move it (to not reset
-             * focus) but change sorting mode. After that, we place all rows as
-             * the first child.
-             */
-
             List<TableRowElement> orderedBodyRows = new ArrayList<TableRowElement>(
                     visualRowOrder);
             Map<Integer, SpacerContainer.SpacerImpl> spacers = body.spacerContainer
@@ -3760,29 +4111,139 @@ public class Escalator extends Widget implements RequiresResize,
             }
 
             /*
-             * If we have a focused row, start in the mode where we put
-             * everything underneath that row. Otherwise, all rows are placed as
-             * first child.
+             * The rows are positioned with CSS, so the DOM order only matters
+             * for e.g. tab order and assistive technologies. Scrolling usually
+             * just moves a few rows from one end to the other, so instead of
+             * reinserting every row, we find the longest run of rows that are
+             * already in the correct order in the DOM, and only move the
+             * others. The focused row is always kept in place.
              */
-            boolean insertFirst = (focusedRow == null);
+            Map<Element, Integer> domIndices = new HashMap<Element, Integer>();
+            int domIndex = 0;
+            for (Element child = root.getFirstChildElement(); child != null; child = child
+                    .getNextSiblingElement()) {
+                domIndices.put(child, Integer.valueOf(domIndex++));
+            }
+
+            int size = orderedBodyRows.size();
+            int[] currentIndices = new int[size];
+            int focusedIndex = -1;
+            for (int i = 0; i < size; i++) {
+                TableRowElement tr = orderedBodyRows.get(i);
+                Integer index = domIndices.get(tr);
+                currentIndices[i] = index != null ? index.intValue() : -1;
+                if (tr == focusedRow) {
+                    focusedIndex = i;
+                }
+            }
 
-            final ListIterator<TableRowElement> i = orderedBodyRows
-                    .listIterator(orderedBodyRows.size());
-            while (i.hasPrevious()) {
-                TableRowElement tr = i.previous();
+            boolean[] inPlace = new boolean[size];
+            if (focusedIndex == -1) {
+                markLongestIncreasingSubsequence(currentIndices, 0, size,
+                        -1, Integer.MAX_VALUE, inPlace);
+            } else {
+                int focusedDomIndex = currentIndices[focusedIndex];
+                markLongestIncreasingSubsequence(currentIndices, 0,
+                        focusedIndex, -1, focusedDomIndex, inPlace);
+                inPlace[focusedIndex] = true;
+                markLongestIncreasingSubsequence(currentIndices,
+                        focusedIndex + 1, size, focusedDomIndex,
+                        Integer.MAX_VALUE, inPlace);
+            }
 
-                if (tr == focusedRow) {
-                    insertFirst = true;
-                } else if (insertFirst) {
-                    root.insertFirst(tr);
+            /*
+             * The rows after the last one in place are inserted before the
+             * element that follows it, so that they stay ahead of any hidden
+             * spacers at the end of the body.
+             */
+            Set<Element> movedRows = new HashSet<Element>();
+            int lastInPlace = -1;
+            for (int i = 0; i < size; i++) {
+                if (inPlace[i]) {
+                    lastInPlace = i;
                 } else {
-                    root.insertAfter(tr, focusedRow);
+                    movedRows.add(orderedBodyRows.get(i));
+                }
+            }
+
+            Element next;
+            if (lastInPlace != -1) {
+                next = orderedBodyRows.get(lastInPlace)
+                        .getNextSiblingElement();
+            } else {
+                next = root.getFirstChildElement();
+            }
+            while (next != null && movedRows.contains(next)) {
+                next = next.getNextSiblingElement();
+            }
+
+            for (int i = size - 1; i >= 0; i--) {
+                TableRowElement tr = orderedBodyRows.get(i);
+                if (!inPlace[i]) {
+                    root.insertBefore(tr, next);
                 }
+                next = tr;
             }
 
             Profiler.leave(profilingName);
         }
 
+        /**
+         * Marks the longest increasing subsequence of the given values that
+         * are between {@code min} and {@code max} (exclusive).
+         * 
+         * @param values
+         *            the values to search
+         * @param from
+         *            the first index to search, inclusive
+         * @param to
+         *            the last index to search, exclusive
+         * @param min
+         *            the lower bound of the values to include, exclusive
+         * @param max
+         *            the upper bound of the values to include, exclusive
+         * @param marks
+         *            the array in which the indices of the subsequence are
+         *            set to <code>true</code>
+         */
+        private void markLongestIncreasingSubsequence(int[] values,
+                int from, int to, int min, int max, boolean[] marks) {
+            // indices of the smallest tail values of runs of each length
+            int[] tails = new int[to - from];
+            int[] previous = new int[values.length];
+            int length = 0;
+
+            for (int i = from; i < to; i++) {
+                int value = values[i];
+                if (value <= min || value >= max) {
+                    continue;
+                }
+
+                int low = 0;
+                int high = length;
+                while (low < high) {
+                    int middle = (low + high) >>> 1;
+                    if (values[tails[middle]] < value) {
+                        low = middle + 1;
+                    } else {
+                        high = middle;
+                    }
+                }
+
+                previous[i] = low > 0 ? tails[low - 1] : -1;
+                tails[low] = i;
+                if (low == length) {
+                    length++;
+                }
+            }
+
+            if (length > 0) {
+                for (int i = tails[length - 1]; i != -1; i = previous[i]) {
+                    marks[i] = true;
+                }
+            }
+        }
+
         /**
          * Get the {@literal <tbody>} row that contains (or has) focus.
          * 
@@ -3844,6 +4305,12 @@ public class Escalator extends Widget implements RequiresResize,
             return spacerContainer.getSpacerUpdater();
         }
 
+        @Override
+        protected void setRowPosition(final TableRowElement tr, final int x,
+                final double y) {
+            positions.setRelativeToOrigin(tr, x, y);
+        }
+
         /**
          * <em>Calculates</em> the correct top position of a row at a logical
          * index, regardless if there is one there or not.
@@ -3861,7 +4328,408 @@ public class Escalator extends Widget implements RequiresResize,
         private double getRowTop(int logicalIndex) {
             double top = spacerContainer
                     .getSpacerHeightsSumUntilIndex(logicalIndex);
-            return top + (logicalIndex * getDefaultRowHeight());
+            return top + getRowHeightsSumUntilIndex(logicalIndex);
+        }
+
+        /**
+         * Returns the height of a row, which is the default row height unless
+         * the row has been measured to be higher.
+         * 
+         * @param logicalIndex
+         *            the logical index of the row
+         * @return the height of the row, in pixels
+         */
+        public double getRowHeight(int logicalIndex) {
+            return getDefaultRowHeight()
+                    + rowHeights.getExtraHeight(logicalIndex);
+        }
+
+        /**
+         * Calculates the sum of the heights of all rows above a logical index,
+         * without spacers.
+         * 
+         * @param logicalIndex
+         *            the logical index of the row
+         * @return the sum of the heights of the rows above {@code logicalIndex}
+         */
+        private double getRowHeightsSumUntilIndex(int logicalIndex) {
+            return logicalIndex * getDefaultRowHeight()
+                    + rowHeights.getExtraHeightsSumBefore(logicalIndex);
+        }
+
+        @Override
+        protected double calculateTotalRowHeight() {
+            return super.calculateTotalRowHeight()
+                    + rowHeights.getExtraHeightsSum();
+        }
+
+        @Override
+        void refreshRow(final TableRowElement tr, final int logicalRowIndex,
+                Range colRange) {
+            if (columnVirtualization) {
+                refreshVisibleCells(tr, logicalRowIndex, colRange);
+            } else {
+                super.refreshRow(tr, logicalRowIndex, colRange);
+            }
+
+            if (variableRowHeights) {
+                if (rowsToMeasure.isEmpty()) {
+                    Scheduler.get().scheduleFinally(rowMeasurer);
+                }
+                rowsToMeasure.add(tr);
+            }
+        }
+
+        /**
+         * Refreshes the given cells of a row that are in frozen columns or in
+         * the horizontal viewport, and keeps track of which columns of the row
+         * are up to date.
+         */
+        private void refreshVisibleCells(final TableRowElement tr,
+                final int logicalRowIndex, Range colRange) {
+            Range frozenColumns = Range.withLength(0,
+                    columnConfiguration.frozenColumns);
+            Range frozenCells = colRange.partitionWith(frozenColumns)[1];
+            Range visibleCells = colRange.partitionWith(visibleColumns)[1];
+
+            if (frozenCells.isEmpty() || visibleCells.isEmpty()
+                    || frozenCells.getEnd() == visibleCells.getStart()) {
+                int start = frozenCells.isEmpty() ? visibleCells.getStart()
+                        : frozenCells.getStart();
+                int end = visibleCells.isEmpty() ? frozenCells.getEnd()
+                        : visibleCells.getEnd();
+                if (start < end) {
+                    super.refreshRow(tr, logicalRowIndex,
+                            Range.between(start, end));
+                }
+            } else {
+                super.refreshRow(tr, logicalRowIndex, frozenCells);
+                super.refreshRow(tr, logicalRowIndex, visibleCells);
+            }
+
+            /*
+             * The refreshed cells outside of the viewport weren't rendered, so
+             * they are no longer up to date.
+             */
+            Range rendered = getRenderedColumns(tr);
+            Range[] renderedPartitions = rendered.partitionWith(visibleColumns);
+            boolean outdatedOutsideViewport = !colRange.partitionWith(
+                    renderedPartitions[0])[1].isEmpty()
+                    || !colRange.partitionWith(renderedPartitions[2])[1]
+                            .isEmpty();
+            if (outdatedOutsideViewport) {
+                rendered = renderedPartitions[1];
+            }
+
+            if (rendered.isEmpty()) {
+                rendered = visibleCells;
+            } else if (!visibleCells.isEmpty()) {
+                if (rendered.getStart() <= visibleCells.getEnd()
+                        && visibleCells.getStart() <= rendered.getEnd()) {
+                    rendered = Range.between(Math.min(rendered.getStart(),
+                            visibleCells.getStart()), Math.max(
+                            rendered.getEnd(), visibleCells.getEnd()));
+                } else {
+                    // keep track of the cells closer to the viewport
+                    rendered = visibleCells;
+                }
+            }
+            setRenderedColumns(tr, rendered.getStart(), rendered.getEnd());
+        }
+
+        /**
+         * Recalculates which columns are in the horizontal viewport, and
+         * renders the cells of those columns that aren't up to date yet.
+         */
+        private void updateVisibleColumns() {
+            if (!columnVirtualization) {
+                return;
+            }
+
+            visibleColumns = calculateVisibleColumns();
+            if (visibleColumns.isEmpty() || visualRowOrder.isEmpty()) {
+                return;
+            }
+
+            final int firstLogicalRowIndex = getLogicalRowIndex(visualRowOrder
+                    .getFirst());
+            for (int i = 0; i < visualRowOrder.size(); i++) {
+                TableRowElement tr = visualRowOrder.get(i);
+                Range rendered = getRenderedColumns(tr);
+                Range[] partitions = visibleColumns.partitionWith(rendered);
+                if (partitions[1].isEmpty()) {
+                    refreshRow(tr, firstLogicalRowIndex + i, visibleColumns);
+                } else if (!partitions[0].isEmpty()
+                        || !partitions[2].isEmpty()) {
+                    if (!partitions[0].isEmpty()) {
+                        refreshRow(tr, firstLogicalRowIndex + i, partitions[0]);
+                    }
+                    if (!partitions[2].isEmpty()) {
+                        refreshRow(tr, firstLogicalRowIndex + i, partitions[2]);
+                    }
+                }
+            }
+        }
+
+        private Range calculateVisibleColumns() {
+            final int columnCount = columnConfiguration.getColumnCount();
+            final int frozenColumnCount = columnConfiguration.frozenColumns;
+            final double[] widths = columnConfiguration
+                    .getCalculatedColumnWidths();
+
+            double left = 0;
+            for (int i = 0; i < frozenColumnCount; i++) {
+                left += widths[i];
+            }
+
+            // the frozen columns cover the start of the viewport
+            final double viewportStart = tBodyScrollLeft + left;
+            final double viewportEnd = tBodyScrollLeft + widthOfEscalator;
+
+            int start = frozenColumnCount;
+            while (start < columnCount
+                    && left + widths[start] <= viewportStart) {
+                left += widths[start];
+                start++;
+            }
+            int end = start;
+            while (end < columnCount && left < viewportEnd) {
+                left += widths[end];
+                end++;
+            }
+            return Range.between(start, end);
+        }
+
+        /**
+         * Forgets which columns of the rows are up to date, e.g. when the
+         * column indices or the frozen columns have changed, and renders the
+         * frozen and visible columns again.
+         */
+        private void resetVisibleColumns() {
+            if (!columnVirtualization || visualRowOrder.isEmpty()) {
+                return;
+            }
+
+            for (TableRowElement tr : visualRowOrder) {
+                setRenderedColumns(tr, 0, 0);
+            }
+
+            final int frozenColumnCount = columnConfiguration.frozenColumns;
+            if (frozenColumnCount > 0) {
+                refreshCells(Range.withLength(
+                        getLogicalRowIndex(visualRowOrder.getFirst()),
+                        visualRowOrder.size()), Range.withLength(0,
+                        frozenColumnCount));
+            }
+            updateVisibleColumns();
+        }
+
+        public void setColumnVirtualization(boolean columnVirtualization) {
+            if (this.columnVirtualization == columnVirtualization) {
+                return;
+            }
+            this.columnVirtualization = columnVirtualization;
+
+            final int columnCount = columnConfiguration.getColumnCount();
+            if (columnVirtualization) {
+                visibleColumns = calculateVisibleColumns();
+
+                // all the cells have been rendered so far
+                for (TableRowElement tr : visualRowOrder) {
+                    setRenderedColumns(tr, 0, columnCount);
+                }
+            } else if (!visualRowOrder.isEmpty()) {
+                refreshRows(getLogicalRowIndex(visualRowOrder.getFirst()),
+                        visualRowOrder.size());
+            }
+        }
+
+        public boolean isColumnVirtualization() {
+            return columnVirtualization;
+        }
+
+        @Override
+        protected boolean isCellRendered(TableRowElement tr, int column) {
+            return !columnVirtualization
+                    || column < columnConfiguration.frozenColumns
+                    || getRenderedColumns(tr).contains(column);
+        }
+
+        private Range getRenderedColumns(TableRowElement tr) {
+            return Range.between(getRenderedColumnsStart(tr),
+                    getRenderedColumnsEnd(tr));
+        }
+
+        private native int getRenderedColumnsStart(TableRowElement tr)
+        /*-{
+            return tr.__escalatorRenderedColumnsStart || 0;
+        }-*/;
+
+        private native int getRenderedColumnsEnd(TableRowElement tr)
+        /*-{
+            return tr.__escalatorRenderedColumnsEnd || 0;
+        }-*/;
+
+        private native void setRenderedColumns(TableRowElement tr, int start,
+                int end)
+        /*-{
+            tr.__escalatorRenderedColumnsStart = start;
+            tr.__escalatorRenderedColumnsEnd = end;
+        }-*/;
+
+        public void setVariableRowHeights(boolean variableRowHeights) {
+            if (this.variableRowHeights == variableRowHeights) {
+                return;
+            }
+            this.variableRowHeights = variableRowHeights;
+
+            if (variableRowHeights) {
+                rowsToMeasure.addAll(visualRowOrder);
+                Scheduler.get().scheduleFinally(rowMeasurer);
+            } else {
+                rowsToMeasure.clear();
+                reapplyDefaultRowHeights();
+            }
+        }
+
+        public boolean isVariableRowHeights() {
+            return variableRowHeights;
+        }
+
+        public void setOverscan(int overscan) {
+            if (this.overscan == overscan) {
+                return;
+            }
+            this.overscan = overscan;
+            verifyEscalatorCount();
+        }
+
+        public int getOverscan() {
+            return overscan;
+        }
+
+        public void setAutoWidthSampleSize(int autoWidthSampleSize) {
+            this.autoWidthSampleSize = autoWidthSampleSize;
+        }
+
+        public int getAutoWidthSampleSize() {
+            return autoWidthSampleSize;
+        }
+
+        @Override
+        protected int getMeasuredRowLimit() {
+            if (autoWidthSampleSize > 0) {
+                return autoWidthSampleSize;
+            }
+            return super.getMeasuredRowLimit();
+        }
+
+        /**
+         * Measures the natural heights of the rows refreshed since the last
+         * measurement, and lays out the rows according to them.
+         * <p>
+         * All the cell heights are reset before reading any of the rows, so
+         * that the whole batch is measured with a single reflow.
+         */
+        private void measureRowHeights() {
+            if (rowsToMeasure.isEmpty() || !isAttached()) {
+                rowsToMeasure.clear();
+                return;
+            }
+
+            List<TableRowElement> rows = new ArrayList<TableRowElement>(
+                    rowsToMeasure.size());
+            for (TableRowElement tr : rowsToMeasure) {
+                if (!rows.contains(tr) && visualRowOrder.contains(tr)) {
+                    rows.add(tr);
+                }
+            }
+            rowsToMeasure.clear();
+
+            for (TableRowElement tr : rows) {
+                Element cellElem = tr.getFirstChildElement();
+                while (cellElem != null) {
+                    cellElem.getStyle().clearHeight();
+                    cellElem = cellElem.getNextSiblingElement();
+                }
+            }
+
+            double[] heights = new double[rows.size()];
+            for (int i = 0; i < heights.length; i++) {
+                double height = WidgetUtil
+                        .getRequiredHeightBoundingClientRectDouble(rows.get(i));
+                heights[i] = Math.max(getDefaultRowHeight(), height);
+            }
+
+            setRowHeights(rows, heights);
+        }
+
+        /**
+         * Sets the heights of row elements and updates the layout of the rows
+         * and spacers below them, once for the whole batch.
+         * <p>
+         * If a row begins above the viewport, the viewport is scrolled by the
+         * height difference, so that the visible content doesn't jump.
+         * 
+         * @param rows
+         *            the row elements
+         * @param heights
+         *            the new heights of the rows, at least the default row
+         *            height
+         */
+        private void setRowHeights(List<TableRowElement> rows, double[] heights) {
+            TreeMap<Integer, Double> rowDiffs = new TreeMap<Integer, Double>();
+            double totalDiff = 0;
+            double scrollDiff = 0;
+            for (int i = 0; i < heights.length; i++) {
+                TableRowElement tr = rows.get(i);
+                int logicalIndex = getLogicalRowIndex(tr);
+                reapplyRowHeight(tr, heights[i]);
+
+                double heightDiff = heights[i] - getRowHeight(logicalIndex);
+                if (WidgetUtil.pixelValuesEqual(heightDiff, 0)) {
+                    continue;
+                }
+                if (getRowTop(tr) < tBodyScrollTop) {
+                    scrollDiff += heightDiff;
+                }
+                totalDiff += heightDiff;
+                rowHeights.setExtraHeight(logicalIndex, heights[i]
+                        - getDefaultRowHeight());
+                rowDiffs.put(logicalIndex, heightDiff);
+            }
+            if (rowDiffs.isEmpty()) {
+                return;
+            }
+
+            // The row positions are derived from the updated height index,
+            // so each row is moved at most once for the whole batch
+            for (TableRowElement tr : visualRowOrder) {
+                double top = getRowTop(getLogicalRowIndex(tr));
+                if (!WidgetUtil.pixelValuesEqual(top, getRowTop(tr))) {
+                    setRowPosition(tr, 0, top);
+                }
+            }
+            spacerContainer.shiftSpacerPositionsAfterRows(rowDiffs);
+
+            /*
+             * As with spacers, when growing the scroll size is adjusted before
+             * scrolling, and when shrinking after it.
+             */
+            boolean rowsAreGrowing = totalDiff > 0;
+            if (rowsAreGrowing) {
+                scroller.setScrollSize(scroller.getScrollSize() + totalDiff);
+            }
+
+            if (scrollDiff != 0) {
+                setBodyScrollPosition(tBodyScrollLeft, tBodyScrollTop
+                        + scrollDiff);
+                scroller.setScrollTopByDelta(scrollDiff);
+            }
+
+            if (!rowsAreGrowing) {
+                scroller.setScrollSize(scroller.getScrollSize() + totalDiff);
+            }
         }
 
         public void shiftRowPositions(int row, double diff) {
@@ -3924,17 +4792,15 @@ public class Escalator extends Widget implements RequiresResize,
                 definedWidth = px;
 
                 if (px < 0) {
-                    if (isAttached()) {
-                        calculateWidth();
-                    } else {
-                        /*
-                         * the column's width is calculated at Escalator.onLoad
-                         * via measureAndSetWidthIfNeeded!
-                         */
-                        measuringRequested = true;
-                    }
+                    /*
+                     * the column's width is measured together with the other
+                     * columns' by measureRequestedWidths, at the latest at
+                     * Escalator.onLoad!
+                     */
+                    measuringRequested = true;
                 } else {
                     calculatedWidth = px;
+                    measuringRequested = false;
                 }
             }
 
@@ -3955,7 +4821,7 @@ public class Escalator extends Widget implements RequiresResize,
                  * widths yet.
                  * 
                  * This is fixed during Escalator.onLoad, by the call to
-                 * "measureAndSetWidthIfNeeded", which fixes "everything".
+                 * "measureRequestedWidths", which fixes "everything".
                  */
                 if (!measuringRequested) {
                     return calculatedWidth;
@@ -3963,26 +4829,6 @@ public class Escalator extends Widget implements RequiresResize,
                     return -1;
                 }
             }
-
-            /**
-             * Checks if the column needs measuring, and then measures it.
-             * <p>
-             * Called by {@link Escalator#onLoad()}.
-             */
-            public boolean measureAndSetWidthIfNeeded() {
-                assert isAttached() : "Column.measureAndSetWidthIfNeeded() was called even though Escalator was not attached!";
-
-                if (measuringRequested) {
-                    measuringRequested = false;
-                    setWidth(definedWidth);
-                    return true;
-                }
-                return false;
-            }
-
-            private void calculateWidth() {
-                calculatedWidth = getMaxCellWidth(columns.indexOf(this));
-            }
         }
 
         private final List<Column> columns = new ArrayList<Column>();
@@ -4049,11 +4895,9 @@ public class Escalator extends Widget implements RequiresResize,
             scroller.recalculateScrollbarsForVirtualViewport();
             body.verifyEscalatorCount();
 
-            if (getColumnConfiguration().getColumnCount() > 0) {
-                reapplyRowWidths(header);
-                reapplyRowWidths(body);
-                reapplyRowWidths(footer);
-            }
+            columnStyleSheet.rebuild();
+
+            body.resetVisibleColumns();
 
             /*
              * Colspans make any kind of automatic clever content re-rendering
@@ -4068,12 +4912,6 @@ public class Escalator extends Widget implements RequiresResize,
              */
         }
 
-        private void reapplyRowWidths(AbstractRowContainer container) {
-            if (container.getRowCount() > 0) {
-                container.reapplyRowWidths();
-            }
-        }
-
         private void removeColumnsAdjustScrollbar(int index, int numberOfColumns) {
             if (horizontalScrollbar.getOffsetSize() >= horizontalScrollbar
                     .getScrollSize()) {
@@ -4155,6 +4993,7 @@ public class Escalator extends Widget implements RequiresResize,
             for (int i = 0; i < numberOfColumns; i++) {
                 columns.add(index, new Column());
             }
+            columnStyleSheet.rebuild();
 
             // Adjust frozen columns
             boolean frozen = index < frozenColumns;
@@ -4203,6 +5042,8 @@ public class Escalator extends Widget implements RequiresResize,
                         + insertedColumnsWidth);
             }
 
+            body.resetVisibleColumns();
+
             /*
              * Colspans make any kind of automatic clever content re-rendering
              * impossible: As soon as anything has colspans, adding one might
@@ -4270,6 +5111,7 @@ public class Escalator extends Widget implements RequiresResize,
             }
 
             scroller.recalculateScrollbarsForVirtualViewport();
+            body.resetVisibleColumns();
         }
 
         @Override
@@ -4305,10 +5147,16 @@ public class Escalator extends Widget implements RequiresResize,
                 // Not all browsers will accept any fractional size..
                 width = WidgetUtil.roundSizeDown(width);
                 columns.get(index).setWidth(width);
+            }
 
+            measureRequestedWidths();
+
+            for (Integer index : indexWidthMap.keySet()) {
+                columnStyleSheet.updateColumnWidth(index.intValue());
             }
 
             widthsArray = null;
+            columnStyleSheet.updateRowWidth();
             header.reapplyColumnWidths();
             body.reapplyColumnWidths();
             footer.reapplyColumnWidths();
@@ -4335,30 +5183,104 @@ public class Escalator extends Widget implements RequiresResize,
             return columns.get(index).getCalculatedWidth();
         }
 
-        private double getMaxCellWidth(int colIndex)
-                throws IllegalArgumentException {
-            double headerWidth = header.measureMinCellWidth(colIndex, true);
-            double bodyWidth = body.measureMinCellWidth(colIndex, true);
-            double footerWidth = footer.measureMinCellWidth(colIndex, true);
+        /**
+         * Measures the widths of all the columns that have requested
+         * measuring, in one pass.
+         * 
+         * @return <code>true</code> if any column was measured
+         */
+        boolean measureRequestedWidths() {
+            if (!isAttached()) {
+                return false;
+            }
 
-            double maxWidth = Math.max(headerWidth,
-                    Math.max(bodyWidth, footerWidth));
-            assert maxWidth >= 0 : "Got a negative max width for a column, which should be impossible.";
-            return maxWidth;
+            List<Column> requested = new ArrayList<Column>();
+            for (Column column : columns) {
+                if (column.measuringRequested) {
+                    requested.add(column);
+                }
+            }
+            if (requested.isEmpty()) {
+                return false;
+            }
+
+            int[] indices = new int[requested.size()];
+            for (int i = 0; i < indices.length; i++) {
+                indices[i] = columns.indexOf(requested.get(i));
+            }
+
+            double[] widths = measureMaxCellWidths(indices, true);
+            for (int i = 0; i < indices.length; i++) {
+                assert widths[i] >= 0 : "Got a negative max width for a column, which should be impossible.";
+                Column column = requested.get(i);
+                column.calculatedWidth = widths[i];
+                column.measuringRequested = false;
+            }
+            return true;
         }
 
         private double getMinCellWidth(int colIndex)
                 throws IllegalArgumentException {
-            double headerWidth = header.measureMinCellWidth(colIndex, false);
-            double bodyWidth = body.measureMinCellWidth(colIndex, false);
-            double footerWidth = footer.measureMinCellWidth(colIndex, false);
-
-            double minWidth = Math.max(headerWidth,
-                    Math.max(bodyWidth, footerWidth));
+            double minWidth = measureMaxCellWidths(new int[] { colIndex },
+                    false)[0];
             assert minWidth >= 0 : "Got a negative max width for a column, which should be impossible.";
             return minWidth;
         }
 
+        /**
+         * Measures the widths that the cells of the given columns require, in
+         * all the row containers. All the cells are measured in the same
+         * layout: the measuring clones are first inserted for every column,
+         * then measured, and finally removed.
+         * 
+         * @param columnIndices
+         *            the indices of the columns to measure
+         * @param withContent
+         *            <code>true</code> if content is taken into account,
+         *            <code>false</code> if not
+         * @return the widest required cell width of each column, or -1 for a
+         *         column without any cells to measure
+         */
+        private double[] measureMaxCellWidths(int[] columnIndices,
+                boolean withContent) {
+            List<List<TableCellElement>> clones = new ArrayList<List<TableCellElement>>();
+            for (int i = 0; i < columnIndices.length; i++) {
+                clones.add(new ArrayList<TableCellElement>());
+            }
+
+            header.insertMeasuringClones(columnIndices, withContent, clones);
+            body.insertMeasuringClones(columnIndices, withContent, clones);
+            footer.insertMeasuringClones(columnIndices, withContent, clones);
+
+            double[] widths = new double[columnIndices.length];
+            for (int i = 0; i < columnIndices.length; i++) {
+                double maxWidth = -1;
+                for (TableCellElement cellClone : clones.get(i)) {
+                    double cellWidth = WidgetUtil
+                            .getRequiredWidthBoundingClientRectDouble(cellClone);
+                    maxWidth = Math.max(maxWidth, cellWidth);
+                }
+                if (maxWidth >= 0 && BrowserInfo.get().isIE()) {
+                    /*
+                     * IE browsers have some issues with subpixels. Occasionally
+                     * content is overflown even if not necessary. Increase the
+                     * counted required size by 0.01 just to be on the safe
+                     * side.
+                     */
+                    maxWidth += 0.01;
+                }
+                widths[i] = maxWidth;
+            }
+
+            for (List<TableCellElement> columnClones : clones) {
+                for (TableCellElement cellClone : columnClones) {
+                    cellClone.removeFromParent();
+                }
+            }
+
+            return widths;
+        }
+
         /**
          * Calculates the width of the columns in a given range.
          * 
@@ -4451,6 +5373,8 @@ public class Escalator extends Widget implements RequiresResize,
             private boolean domHasBeenSetup = false;
             private double decoHeight;
             private double defaultCellBorderBottomSize = -1;
+            /** Position of this spacer in the spacer order */
+            private int orderIndex = -1;
 
             public SpacerImpl(int rowIndex) {
                 this.rowIndex = rowIndex;
@@ -4490,9 +5414,9 @@ public class Escalator extends Widget implements RequiresResize,
             }
 
             public void setPosition(double x, double y) {
-                positions.set(getRootElement(), x, y);
-                positions
-                        .set(getDecoElement(), 0, y - getSpacerDecoTopOffset());
+                positions.setRelativeToOrigin(getRootElement(), x, y);
+                positions.setRelativeToOrigin(getDecoElement(), 0,
+                        y - getSpacerDecoTopOffset());
             }
 
             private double getSpacerDecoTopOffset() {
@@ -4513,6 +5437,7 @@ public class Escalator extends Widget implements RequiresResize,
                 final double oldHeight = this.height;
 
                 this.height = height;
+                spacerHeightChanged(this, heightDiff);
 
                 // since the spacer might be rendered on top of the previous
                 // rows border (done with css), need to increase height the
@@ -4536,8 +5461,8 @@ public class Escalator extends Widget implements RequiresResize,
                  */
                 boolean spacerIsGrowing = heightDiff > 0;
                 if (spacerIsGrowing) {
-                    verticalScrollbar.setScrollSize(verticalScrollbar
-                            .getScrollSize() + heightDiff);
+                    scroller.setScrollSize(scroller.getScrollSize()
+                            + heightDiff);
                 }
 
                 /*
@@ -4568,7 +5493,7 @@ public class Escalator extends Widget implements RequiresResize,
 
                     double top = getTop();
                     double bottom = top + oldHeight;
-                    double scrollTop = verticalScrollbar.getScrollPos();
+                    double scrollTop = scroller.getScrollTop();
 
                     boolean viewportTopIsAtMidSpacer = top < scrollTop
                             && scrollTop < bottom;
@@ -4591,15 +5516,15 @@ public class Escalator extends Widget implements RequiresResize,
                     }
                     body.setBodyScrollPosition(tBodyScrollLeft, tBodyScrollTop
                             + moveDiff);
-                    verticalScrollbar.setScrollPosByDelta(moveDiff);
+                    scroller.setScrollTopByDelta(moveDiff);
 
                 } else {
                     body.shiftRowPositions(getRow(), heightDiff);
                 }
 
                 if (!spacerIsGrowing) {
-                    verticalScrollbar.setScrollSize(verticalScrollbar
-                            .getScrollSize() + heightDiff);
+                    scroller.setScrollSize(scroller.getScrollSize()
+                            + heightDiff);
                 }
 
                 updateDecoratorGeometry(height);
@@ -4661,10 +5586,10 @@ public class Escalator extends Widget implements RequiresResize,
             }
 
             private boolean isInViewport() {
-                int top = (int) Math.ceil(getTop());
-                int height = (int) Math.floor(getHeight());
-                Range location = Range.withLength(top, height);
-                return getViewportPixels().intersects(location);
+                double top = getTop();
+                double bottom = top + getHeight();
+                return top < getViewportBottom()
+                        && getViewportTop() < bottom;
             }
 
             public void show() {
@@ -4679,31 +5604,25 @@ public class Escalator extends Widget implements RequiresResize,
 
             /**
              * Crop the decorator element so that it doesn't overlap the header
-             * and footer sections.
+             * and footer sections. The position of the deco is calculated
+             * from the bookkept position of the spacer instead of being
+             * measured, so that no layout is forced after the rows have been
+             * moved.
              * 
-             * @param bodyTop
-             *            the top cordinate of the escalator body
-             * @param bodyBottom
-             *            the bottom cordinate of the escalator body
+             * @param bodyHeight
+             *            the height of the escalator body
              * @param decoWidth
              *            width of the deco
              */
-            private void updateDecoClip(final double bodyTop,
-                    final double bodyBottom, final double decoWidth) {
-                final int top = deco.getAbsoluteTop();
-                final int bottom = deco.getAbsoluteBottom();
-                /*
-                 * FIXME
-                 * 
-                 * Height and its use is a workaround for the issue where
-                 * coordinates of the deco are not calculated yet. This will
-                 * prevent a deco from being displayed when it's added to DOM
-                 */
-                final int height = bottom - top;
-                if (top < bodyTop || bottom > bodyBottom) {
-                    final double topClip = Math.max(0.0D, bodyTop - top);
-                    final double bottomClip = height
-                            - Math.max(0.0D, bottom - bodyBottom);
+            private void updateDecoClip(final double bodyHeight,
+                    final double decoWidth) {
+                final double top = getTop() - getSpacerDecoTopOffset()
+                        - tBodyScrollTop;
+                final double bottom = top + decoHeight;
+                if (top < 0 || bottom > bodyHeight) {
+                    final double topClip = Math.max(0.0D, -top);
+                    final double bottomClip = decoHeight
+                            - Math.max(0.0D, bottom - bodyHeight);
                     // TODO [optimize] not sure how GWT compiles this
                     final String clip = new StringBuilder("rect(")
                             .append(topClip).append("px,").append(decoWidth)
@@ -4718,8 +5637,39 @@ public class Escalator extends Widget implements RequiresResize,
 
         private final TreeMap<Integer, SpacerImpl> rowIndexToSpacer = new TreeMap<Integer, SpacerImpl>();
 
+        /*
+         * The spacers in row order, along with a Fenwick tree of their heights
+         * so that the height of the spacers before any of them is found in
+         * O(log n). Both are rebuilt lazily after spacers are added or
+         * removed. Shifting row indexes keeps the order, so it doesn't
+         * invalidate them, and height changes update the tree in place.
+         */
+        private SpacerImpl[] spacerOrder = new SpacerImpl[0];
+        private double[] spacerHeightTree = new double[1];
+        private boolean spacerOrderValid = true;
+
         private SpacerUpdater spacerUpdater = SpacerUpdater.NULL;
 
+        /**
+         * The spacers outside of the viewport whose content is initialized
+         * once the browser is idle, or once they are scrolled into view.
+         */
+        private final List<SpacerImpl> pendingSpacerInits = new ArrayList<SpacerImpl>();
+        private boolean spacerInitIsScheduled = false;
+        private final Command spacerInitCommand = new Command() {
+            @Override
+            public void execute() {
+                spacerInitIsScheduled = false;
+                List<SpacerImpl> spacers = new ArrayList<SpacerImpl>(
+                        pendingSpacerInits);
+                pendingSpacerInits.clear();
+                for (SpacerImpl spacer : spacers) {
+                    initSpacerContentNow(spacer);
+                }
+                updateSpacerDecosVisibility();
+            }
+        };
+
         private final ScrollHandler spacerScroller = new ScrollHandler() {
             private double prevScrollX = 0;
 
@@ -4796,9 +5746,8 @@ public class Escalator extends Widget implements RequiresResize,
             double targetStartPx = spacer.getTop();
             double targetEndPx = targetStartPx + spacer.getHeight();
 
-            Range viewportPixels = getViewportPixels();
-            double viewportStartPx = viewportPixels.getStart();
-            double viewportEndPx = viewportPixels.getEnd();
+            double viewportStartPx = getViewportTop();
+            double viewportEndPx = getViewportBottom();
 
             double scrollTop = getScrollPos(destination, targetStartPx,
                     targetEndPx, viewportStartPx, viewportEndPx, padding);
@@ -4814,10 +5763,11 @@ public class Escalator extends Widget implements RequiresResize,
             }
         }
 
-        public void paintRemoveSpacers(Range removedRowsRange) {
+        public void paintRemoveSpacers(Range removedRowsRange,
+                double removedRowsHeight) {
             removeSpacers(removedRowsRange);
             shiftSpacersByRows(removedRowsRange.getStart(),
-                    -removedRowsRange.length());
+                    -removedRowsRange.length(), -removedRowsHeight);
         }
 
         @SuppressWarnings("boxing")
@@ -4842,9 +5792,12 @@ public class Escalator extends Widget implements RequiresResize,
                 spacer.setHeight(0); // resets row offsets
                 spacer.getRootElement().removeFromParent();
                 spacer.getDecoElement().removeFromParent();
+                positions.remove(spacer.getRootElement());
+                positions.remove(spacer.getDecoElement());
             }
 
             removedSpacers.clear();
+            invalidateSpacerOrder();
 
             if (rowIndexToSpacer.isEmpty()) {
                 assert spacerScrollerRegistration != null : "Spacer scroller registration was null";
@@ -4863,7 +5816,7 @@ public class Escalator extends Widget implements RequiresResize,
          * @return sum of all spacers, or 0 if no spacers present
          */
         public double getSpacerHeightsSum() {
-            return getHeights(rowIndexToSpacer.values());
+            return getSpacerHeightsSumBefore(getSpacerOrder().length);
         }
 
         /**
@@ -4874,11 +5827,10 @@ public class Escalator extends Widget implements RequiresResize,
          * @return the sum of all spacers from {@code logicalRowIndex} and
          *         onwards, or 0 if no suitable spacers were found
          */
-        @SuppressWarnings("boxing")
         public Collection<SpacerImpl> getSpacersForRowAndAfter(
                 int logicalRowIndex) {
-            return new ArrayList<SpacerImpl>(rowIndexToSpacer.tailMap(
-                    logicalRowIndex, true).values());
+            SpacerImpl[] order = getSpacerOrder();
+            return spacersFrom(order, countSpacersBeforeRow(logicalRowIndex));
         }
 
         /**
@@ -4905,27 +5857,14 @@ public class Escalator extends Widget implements RequiresResize,
         public Collection<SpacerImpl> getSpacersAfterPx(final double px,
                 final SpacerInclusionStrategy strategy) {
 
-            ArrayList<SpacerImpl> spacers = new ArrayList<SpacerImpl>(
-                    rowIndexToSpacer.values());
-
-            for (int i = 0; i < spacers.size(); i++) {
-                SpacerImpl spacer = spacers.get(i);
-
-                double top = spacer.getTop();
-                double bottom = top + spacer.getHeight();
-
-                if (top > px) {
-                    return spacers.subList(i, spacers.size());
-                } else if (bottom > px) {
-                    if (strategy == SpacerInclusionStrategy.NONE) {
-                        return spacers.subList(i + 1, spacers.size());
-                    } else {
-                        return spacers.subList(i, spacers.size());
-                    }
-                }
+            SpacerImpl[] order = getSpacerOrder();
+            int i = indexOfFirstSpacerEndingAfter(order, px);
+            if (i < order.length && order[i].getTop() <= px
+                    && strategy == SpacerInclusionStrategy.NONE) {
+                // px is in the middle of the spacer
+                i++;
             }
-
-            return Collections.emptySet();
+            return spacersFrom(order, i);
         }
 
         /**
@@ -4971,60 +5910,24 @@ public class Escalator extends Widget implements RequiresResize,
 
             assert rangeTop <= rangeBottom : "rangeTop must be less than rangeBottom";
 
-            double heights = 0;
-
-            /*
-             * TODO [[optimize]]: this might be somewhat inefficient (due to
-             * iterator-based scanning, instead of using the treemap's search
-             * functionalities). But it should be easy to write, read, verify
-             * and maintain.
-             */
-            for (SpacerImpl spacer : rowIndexToSpacer.values()) {
-                double top = spacer.getTop();
-                double height = spacer.getHeight();
-                double bottom = top + height;
-
-                /*
-                 * If we happen to implement a DoubleRange (in addition to the
-                 * int-based Range) at some point, the following logic should
-                 * probably be converted into using the
-                 * Range.partitionWith-equivalent.
-                 */
-
-                boolean topIsAboveRange = top < rangeTop;
-                boolean topIsInRange = rangeTop <= top && top <= rangeBottom;
-                boolean topIsBelowRange = rangeBottom < top;
-
-                boolean bottomIsAboveRange = bottom < rangeTop;
-                boolean bottomIsInRange = rangeTop <= bottom
-                        && bottom <= rangeBottom;
-                boolean bottomIsBelowRange = rangeBottom < bottom;
+            SpacerImpl[] order = getSpacerOrder();
 
-                assert topIsAboveRange ^ topIsBelowRange ^ topIsInRange : "Bad top logic";
-                assert bottomIsAboveRange ^ bottomIsBelowRange
-                        ^ bottomIsInRange : "Bad bottom logic";
-
-                if (bottomIsAboveRange) {
-                    continue;
-                } else if (topIsBelowRange) {
-                    return heights;
-                }
-
-                else if (topIsAboveRange && bottomIsInRange) {
-                    switch (topInclusion) {
-                    case PARTIAL:
-                        heights += bottom - rangeTop;
-                        break;
-                    case COMPLETE:
-                        heights += height;
-                        break;
-                    default:
-                        break;
-                    }
-                }
+            // Spacers ending above the range are ignored, as well as the ones
+            // starting below it
+            int first = indexOfFirstSpacerEndingAtOrAfter(order, rangeTop);
+            int end = indexOfFirstSpacerStartingAfter(order, rangeBottom);
+            if (first >= end) {
+                return 0;
+            }
 
-                else if (topIsAboveRange && bottomIsBelowRange) {
+            double heights = 0;
 
+            SpacerImpl firstSpacer = order[first];
+            double firstTop = firstSpacer.getTop();
+            double firstHeight = firstSpacer.getHeight();
+            double firstBottom = firstTop + firstHeight;
+            if (firstTop < rangeTop) {
+                if (rangeBottom < firstBottom) {
                     /*
                      * Here we arbitrarily decide that the top inclusion will
                      * have the honor of overriding the bottom inclusion if
@@ -5034,35 +5937,49 @@ public class Escalator extends Widget implements RequiresResize,
                     case NONE:
                         return 0;
                     case COMPLETE:
-                        return height;
+                        return firstHeight;
                     case PARTIAL:
                         return rangeBottom - rangeTop;
                     default:
                         throw new IllegalArgumentException(
                                 "Unexpected inclusion state :" + topInclusion);
                     }
+                }
 
-                } else if (topIsInRange && bottomIsInRange) {
-                    heights += height;
+                switch (topInclusion) {
+                case PARTIAL:
+                    heights += firstBottom - rangeTop;
+                    break;
+                case COMPLETE:
+                    heights += firstHeight;
+                    break;
+                default:
+                    break;
                 }
+                first++;
+            }
+
+            if (first < end) {
+                // All of these start within the range, only the last one may
+                // end below it
+                heights += getSpacerHeightsSumBefore(end)
+                        - getSpacerHeightsSumBefore(first);
 
-                else if (topIsInRange && bottomIsBelowRange) {
+                SpacerImpl lastSpacer = order[end - 1];
+                double lastTop = lastSpacer.getTop();
+                double lastHeight = lastSpacer.getHeight();
+                if (rangeBottom < lastTop + lastHeight) {
+                    heights -= lastHeight;
                     switch (bottomInclusion) {
                     case PARTIAL:
-                        heights += rangeBottom - top;
+                        heights += rangeBottom - lastTop;
                         break;
                     case COMPLETE:
-                        heights += height;
+                        heights += lastHeight;
                         break;
                     default:
                         break;
                     }
-
-                    return heights;
-                }
-
-                else {
-                    assert false : "Unnaccounted-for situation";
                 }
             }
 
@@ -5091,20 +6008,137 @@ public class Escalator extends Widget implements RequiresResize,
          *            a logical row index
          * @return the pixels occupied by spacers up until {@code logicalIndex}
          */
-        @SuppressWarnings("boxing")
         public double getSpacerHeightsSumUntilIndex(int logicalIndex) {
-            return getHeights(rowIndexToSpacer.headMap(logicalIndex, false)
-                    .values());
+            return getSpacerHeightsSumBefore(
+                    countSpacersBeforeRow(logicalIndex));
         }
 
-        private double getHeights(Collection<SpacerImpl> spacers) {
+        /**
+         * Returns the spacers in row order, rebuilding the order and the
+         * height tree if spacers have been added or removed since the last
+         * call.
+         */
+        private SpacerImpl[] getSpacerOrder() {
+            if (!spacerOrderValid) {
+                spacerOrder = rowIndexToSpacer.values().toArray(
+                        new SpacerImpl[rowIndexToSpacer.size()]);
+                spacerHeightTree = new double[spacerOrder.length + 1];
+                for (int i = 0; i < spacerOrder.length; i++) {
+                    spacerOrder[i].orderIndex = i;
+                    // A new spacer's height hasn't been set up yet
+                    spacerHeightTree[i + 1] += Math.max(0,
+                            spacerOrder[i].height);
+                    int parent = (i + 1) + ((i + 1) & -(i + 1));
+                    if (parent <= spacerOrder.length) {
+                        spacerHeightTree[parent] += spacerHeightTree[i + 1];
+                    }
+                }
+                spacerOrderValid = true;
+            }
+            return spacerOrder;
+        }
+
+        private void invalidateSpacerOrder() {
+            spacerOrderValid = false;
+        }
+
+        private void spacerHeightChanged(SpacerImpl spacer, double heightDiff) {
+            if (spacerOrderValid && spacer.orderIndex >= 0
+                    && spacer.orderIndex < spacerOrder.length
+                    && spacerOrder[spacer.orderIndex] == spacer) {
+                int length = spacerHeightTree.length;
+                for (int i = spacer.orderIndex + 1; i < length; i += i & -i) {
+                    spacerHeightTree[i] += heightDiff;
+                }
+            }
+        }
+
+        /**
+         * Gets the sum of the heights of the first {@code count} spacers in row
+         * order.
+         */
+        private double getSpacerHeightsSumBefore(int count) {
+            getSpacerOrder();
             double heights = 0;
-            for (SpacerImpl spacer : spacers) {
-                heights += spacer.getHeight();
+            for (int i = count; i > 0; i -= i & -i) {
+                heights += spacerHeightTree[i];
             }
             return heights;
         }
 
+        /** Counts the spacers with a row index smaller than the given one. */
+        private int countSpacersBeforeRow(int logicalIndex) {
+            SpacerImpl[] order = getSpacerOrder();
+            int low = 0;
+            int high = order.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (order[mid].getRow() < logicalIndex) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /** Finds the first spacer whose bottom is below {@code px}. */
+        private int indexOfFirstSpacerEndingAfter(SpacerImpl[] order,
+                double px) {
+            int low = 0;
+            int high = order.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (order[mid].getTop() + order[mid].getHeight() > px) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+
+        /** Finds the first spacer whose bottom is at or below {@code px}. */
+        private int indexOfFirstSpacerEndingAtOrAfter(SpacerImpl[] order,
+                double px) {
+            int low = 0;
+            int high = order.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (order[mid].getTop() + order[mid].getHeight() < px) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /** Finds the first spacer whose top is below {@code px}. */
+        private int indexOfFirstSpacerStartingAfter(SpacerImpl[] order,
+                double px) {
+            int low = 0;
+            int high = order.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (order[mid].getTop() > px) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+
+        private Collection<SpacerImpl> spacersFrom(SpacerImpl[] order,
+                int index) {
+            if (index >= order.length) {
+                return Collections.emptyList();
+            }
+            return Collections.unmodifiableList(Arrays.asList(order).subList(
+                    index, order.length));
+        }
+
         /**
          * Gets the height of the spacer for a row index.
          * 
@@ -5136,9 +6170,10 @@ public class Escalator extends Widget implements RequiresResize,
             final SpacerImpl spacer = new SpacerImpl(rowIndex);
 
             rowIndexToSpacer.put(rowIndex, spacer);
+            invalidateSpacerOrder();
             // set the position before adding it to DOM
-            positions.set(spacer.getRootElement(), getScrollLeft(),
-                    calculateSpacerTop(rowIndex));
+            positions.setRelativeToOrigin(spacer.getRootElement(),
+                    getScrollLeft(), calculateSpacerTop(rowIndex));
 
             TableRowElement spacerRoot = spacer.getRootElement();
             spacerRoot.getStyle().setWidth(
@@ -5146,7 +6181,7 @@ public class Escalator extends Widget implements RequiresResize,
             body.getElement().appendChild(spacerRoot);
             spacer.setupDom(height);
             // set the deco position, requires that spacer is in the DOM
-            positions.set(spacer.getDecoElement(), 0,
+            positions.setRelativeToOrigin(spacer.getDecoElement(), 0,
                     spacer.getTop() - spacer.getSpacerDecoTopOffset());
 
             spacerDecoContainer.appendChild(spacer.getDecoElement());
@@ -5160,180 +6195,866 @@ public class Escalator extends Widget implements RequiresResize,
 
             initSpacerContent(spacer);
 
-            body.sortDomElements();
+            body.sortDomElements();
+        }
+
+        private void updateExistingSpacer(int rowIndex, double newHeight) {
+            getSpacer(rowIndex).setHeight(newHeight);
+        }
+
+        public SpacerImpl getSpacer(int rowIndex) {
+            return rowIndexToSpacer.get(Integer.valueOf(rowIndex));
+        }
+
+        private void removeSpacer(int rowIndex) {
+            removeSpacers(Range.withOnly(rowIndex));
+        }
+
+        public void setStylePrimaryName(String style) {
+            for (SpacerImpl spacer : rowIndexToSpacer.values()) {
+                spacer.setStylePrimaryName(style);
+            }
+        }
+
+        public void setSpacerUpdater(SpacerUpdater spacerUpdater)
+                throws IllegalArgumentException {
+            if (spacerUpdater == null) {
+                throw new IllegalArgumentException(
+                        "spacer updater cannot be null");
+            }
+
+            destroySpacerContent(rowIndexToSpacer.values());
+            this.spacerUpdater = spacerUpdater;
+            initSpacerContent(rowIndexToSpacer.values());
+        }
+
+        public SpacerUpdater getSpacerUpdater() {
+            return spacerUpdater;
+        }
+
+        private void destroySpacerContent(Iterable<SpacerImpl> spacers) {
+            for (SpacerImpl spacer : spacers) {
+                destroySpacerContent(spacer);
+            }
+        }
+
+        private void destroySpacerContent(SpacerImpl spacer) {
+            if (pendingSpacerInits.remove(spacer)) {
+                // The content was never initialized
+                return;
+            }
+            assert getElement().isOrHasChild(spacer.getRootElement()) : "Spacer's root element somehow got detached from Escalator before detaching";
+            assert getElement().isOrHasChild(spacer.getElement()) : "Spacer element somehow got detached from Escalator before detaching";
+            spacerUpdater.destroy(spacer);
+            assert getElement().isOrHasChild(spacer.getRootElement()) : "Spacer's root element somehow got detached from Escalator before detaching";
+            assert getElement().isOrHasChild(spacer.getElement()) : "Spacer element somehow got detached from Escalator before detaching";
+        }
+
+        private void initSpacerContent(Iterable<SpacerImpl> spacers) {
+            for (SpacerImpl spacer : spacers) {
+                initSpacerContent(spacer);
+            }
+        }
+
+        /**
+         * Initializes the content of a spacer right away if it is in the
+         * viewport, and otherwise once the browser is idle.
+         */
+        private void initSpacerContent(SpacerImpl spacer) {
+            if (spacer.isInViewport()) {
+                initSpacerContentNow(spacer);
+                return;
+            }
+
+            spacer.updateVisibility();
+            pendingSpacerInits.add(spacer);
+            if (!spacerInitIsScheduled) {
+                spacerInitIsScheduled = true;
+                JsniUtil.requestIdle(spacerInitCommand);
+            }
+        }
+
+        /**
+         * Initializes the content of the pending spacers that have been
+         * scrolled into the viewport.
+         */
+        public void initPendingSpacersInViewport() {
+            for (int i = 0; i < pendingSpacerInits.size();) {
+                SpacerImpl spacer = pendingSpacerInits.get(i);
+                if (spacer.isInViewport()) {
+                    pendingSpacerInits.remove(i);
+                    initSpacerContentNow(spacer);
+                } else {
+                    i++;
+                }
+            }
+        }
+
+        public boolean hasPendingSpacerInits() {
+            return !pendingSpacerInits.isEmpty();
+        }
+
+        private void initSpacerContentNow(SpacerImpl spacer) {
+            assert getElement().isOrHasChild(spacer.getRootElement()) : "Spacer's root element somehow got detached from Escalator before attaching";
+            assert getElement().isOrHasChild(spacer.getElement()) : "Spacer element somehow got detached from Escalator before attaching";
+            spacerUpdater.init(spacer);
+            assert getElement().isOrHasChild(spacer.getRootElement()) : "Spacer's root element somehow got detached from Escalator during attaching";
+            assert getElement().isOrHasChild(spacer.getElement()) : "Spacer element somehow got detached from Escalator during attaching";
+
+            spacer.updateVisibility();
+        }
+
+        public String getSubPartName(Element subElement) {
+            for (SpacerImpl spacer : rowIndexToSpacer.values()) {
+                if (spacer.getRootElement().isOrHasChild(subElement)) {
+                    return "spacer[" + spacer.getRow() + "]";
+                }
+            }
+            return null;
+        }
+
+        public Element getSubPartElement(int index) {
+            SpacerImpl spacer = rowIndexToSpacer.get(Integer.valueOf(index));
+            if (spacer != null) {
+                return spacer.getElement();
+            } else {
+                return null;
+            }
+        }
+
+        /**
+         * Calculates the top of a new spacer from the bottom of the spacer
+         * above it, so that adding spacers one by one doesn't rebuild the
+         * spacer order for each of them.
+         */
+        @SuppressWarnings("boxing")
+        private double calculateSpacerTop(int logicalIndex) {
+            Entry<Integer, SpacerImpl> previous = rowIndexToSpacer
+                    .lowerEntry(logicalIndex);
+            if (previous == null) {
+                return body.getRowHeightsSumUntilIndex(logicalIndex + 1);
+            }
+
+            SpacerImpl spacer = previous.getValue();
+            return spacer.getTop() + spacer.getHeight()
+                    + body.getRowHeightsSumUntilIndex(logicalIndex + 1)
+                    - body.getRowHeightsSumUntilIndex(spacer.getRow() + 1);
+        }
+
+        @SuppressWarnings("boxing")
+        private void shiftSpacerPositionsAfterRow(int changedRowIndex,
+                double diffPx) {
+            for (SpacerImpl spacer : rowIndexToSpacer.tailMap(changedRowIndex,
+                    false).values()) {
+                spacer.setPositionDiff(0, diffPx);
+            }
+        }
+
+        /**
+         * Shifts the spacers below rows whose heights have changed, each by
+         * the combined height difference of the changed rows above it.
+         * 
+         * @param rowDiffs
+         *            the height differences of the changed rows, by logical
+         *            row index
+         */
+        private void shiftSpacerPositionsAfterRows(
+                TreeMap<Integer, Double> rowDiffs) {
+            Iterator<Entry<Integer, Double>> diffs = rowDiffs.entrySet()
+                    .iterator();
+            Entry<Integer, Double> next = diffs.next();
+            double diffPx = 0;
+            for (SpacerImpl spacer : rowIndexToSpacer.tailMap(
+                    rowDiffs.firstKey(), true).values()) {
+                while (next != null && next.getKey() <= spacer.getRow()) {
+                    diffPx += next.getValue();
+                    next = diffs.hasNext() ? diffs.next() : null;
+                }
+                spacer.setPositionDiff(0, diffPx);
+            }
+        }
+
+        /**
+         * Shifts spacers at and after a specific row by an amount of rows.
+         * <p>
+         * This moves both their associated row index and also their visual
+         * placement.
+         * <p>
+         * <em>Note:</em> This method does not check for the validity of any
+         * arguments.
+         * 
+         * @param index
+         *            the index of first row to move
+         * @param numberOfRows
+         *            the number of rows to shift the spacers with. A positive
+         *            value is downwards, a negative value is upwards.
+         * @param pxDiff
+         *            the combined height of the rows, in pixels
+         */
+        public void shiftSpacersByRows(int index, int numberOfRows,
+                double pxDiff) {
+            for (SpacerContainer.SpacerImpl spacer : getSpacersForRowAndAfter(index)) {
+                spacer.setPositionDiff(0, pxDiff);
+                spacer.setRowIndex(spacer.getRow() + numberOfRows);
+            }
+        }
+
+        private void updateSpacerDecosVisibility() {
+            final Range visibleRowRange = getVisibleRowRange();
+            Collection<SpacerImpl> visibleSpacers = rowIndexToSpacer.subMap(
+                    visibleRowRange.getStart() - 1,
+                    visibleRowRange.getEnd() + 1).values();
+            if (!visibleSpacers.isEmpty()) {
+                final double bodyHeight = body.getHeightOfSection();
+                for (SpacerImpl spacer : visibleSpacers) {
+                    spacer.updateDecoClip(bodyHeight, spacerDecoWidth);
+                }
+            }
+        }
+    }
+
+    /**
+     * The body row elements in their visual order.
+     * <p>
+     * The rows are kept in a ring buffer, so that moving rows from one end of
+     * the list to the other, as is done when scrolling, only moves the start
+     * of the ring instead of any elements.
+     */
+    private static class VisualRowOrder extends AbstractList<TableRowElement>
+            implements RandomAccess {
+        private TableRowElement[] slots = new TableRowElement[0];
+        private int head = 0;
+        private int size = 0;
+
+        @Override
+        public TableRowElement get(int index) {
+            checkIndex(index, size);
+            return slots[slot(index)];
+        }
+
+        @Override
+        public TableRowElement set(int index, TableRowElement tr) {
+            checkIndex(index, size);
+            int slot = slot(index);
+            TableRowElement old = slots[slot];
+            slots[slot] = tr;
+            return old;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void add(int index, TableRowElement tr) {
+            checkIndex(index, size + 1);
+            if (size == slots.length) {
+                resize(Math.max(8, size * 2));
+            }
+
+            // shift whichever side of the index is shorter
+            if (index < size / 2) {
+                head = (head + slots.length - 1) % slots.length;
+                for (int i = 0; i < index; i++) {
+                    slots[slot(i)] = slots[slot(i + 1)];
+                }
+            } else {
+                for (int i = size; i > index; i--) {
+                    slots[slot(i)] = slots[slot(i - 1)];
+                }
+            }
+            slots[slot(index)] = tr;
+            size++;
+            modCount++;
+        }
+
+        @Override
+        public TableRowElement remove(int index) {
+            checkIndex(index, size);
+            TableRowElement removed = slots[slot(index)];
+
+            if (index < size / 2) {
+                for (int i = index; i > 0; i--) {
+                    slots[slot(i)] = slots[slot(i - 1)];
+                }
+                slots[head] = null;
+                head = (head + 1) % slots.length;
+            } else {
+                for (int i = index; i < size - 1; i++) {
+                    slots[slot(i)] = slots[slot(i + 1)];
+                }
+                slots[slot(size - 1)] = null;
+            }
+            size--;
+            modCount++;
+            return removed;
+        }
+
+        @Override
+        public void clear() {
+            Arrays.fill(slots, null);
+            head = 0;
+            size = 0;
+            modCount++;
+        }
+
+        public TableRowElement getFirst() {
+            if (size == 0) {
+                throw new NoSuchElementException();
+            }
+            return get(0);
+        }
+
+        public TableRowElement getLast() {
+            if (size == 0) {
+                throw new NoSuchElementException();
+            }
+            return get(size - 1);
+        }
+
+        public void addLast(TableRowElement tr) {
+            add(size, tr);
+        }
+
+        /**
+         * Moves a range of rows to a new index.
+         * <p>
+         * Moving rows from the start of the list to the end, or vice versa,
+         * doesn't move any elements. Other moves rotate the affected part of
+         * the list in place.
+         * 
+         * @param start
+         *            the index of the first row to move
+         * @param length
+         *            the number of rows to move
+         * @param target
+         *            the index the first moved row will have after the move
+         */
+        public void move(int start, int length, int target) {
+            if (start == target || length == 0) {
+                return;
+            }
+
+            int from = Math.min(start, target);
+            int to = Math.max(start, target) + length;
+            checkIndex(from, size);
+            checkIndex(to, size + 1);
+
+            // move the rows by rotating [from, to) to the left
+            int distance = start < target ? length : start - target;
+            if (from == 0 && to == size) {
+                if (size != slots.length) {
+                    resize(size);
+                }
+                head = (head + distance) % size;
+            } else {
+                reverse(from, from + distance);
+                reverse(from + distance, to);
+                reverse(from, to);
+            }
+            modCount++;
+        }
+
+        private void reverse(int from, int to) {
+            for (int i = from, j = to - 1; i < j; i++, j--) {
+                int slotI = slot(i);
+                int slotJ = slot(j);
+                TableRowElement tmp = slots[slotI];
+                slots[slotI] = slots[slotJ];
+                slots[slotJ] = tmp;
+            }
+        }
+
+        private void resize(int capacity) {
+            TableRowElement[] newSlots = new TableRowElement[capacity];
+            for (int i = 0; i < size; i++) {
+                newSlots[i] = slots[slot(i)];
+            }
+            slots = newSlots;
+            head = 0;
+        }
+
+        private int slot(int index) {
+            return (head + index) % slots.length;
+        }
+
+        private static void checkIndex(int index, int bound) {
+            if (index < 0 || index >= bound) {
+                throw new IndexOutOfBoundsException("Index: " + index
+                        + ", Size: " + bound);
+            }
+        }
+    }
+
+    /**
+     * Keeps track of the body rows whose measured height differs from the
+     * default row height.
+     * <p>
+     * Rows that haven't been measured are estimated to be exactly of the
+     * default row height, so only the extra heights of the measured rows are
+     * stored. They are indexed in a sparse Fenwick tree over the logical row
+     * indexes, so that both the top position of a row and the row at a given
+     * position can be found in logarithmic time. Only the tree nodes covering
+     * measured rows are stored, and the tree grows on demand to cover the
+     * highest measured row, so the memory used doesn't depend on the number
+     * of rows in the body.
+     */
+    private static class RowHeightIndex {
+        private final TreeMap<Integer, Double> extraHeights =
+                new TreeMap<Integer, Double>();
+        private final Map<Integer, Double> tree =
+                new HashMap<Integer, Double>();
+        // The number of row indexes covered by the tree, a power of two
+        private int capacity = 0;
+
+        public boolean isEmpty() {
+            return extraHeights.isEmpty();
+        }
+
+        public void clear() {
+            extraHeights.clear();
+            tree.clear();
+            capacity = 0;
+        }
+
+        public double getExtraHeight(int row) {
+            Double extraHeight = extraHeights.get(row);
+            return extraHeight == null ? 0 : extraHeight;
+        }
+
+        /**
+         * Sets the extra height of a row.
+         *
+         * @param row
+         *            the logical index of the row
+         * @param extraHeight
+         *            the height of the row above the default row height
+         */
+        public void setExtraHeight(int row, double extraHeight) {
+            double diff = extraHeight - getExtraHeight(row);
+            if (extraHeight == 0) {
+                extraHeights.remove(row);
+            } else {
+                extraHeights.put(row, extraHeight);
+            }
+            add(row, diff);
+        }
+
+        /**
+         * Calculates the sum of the extra heights of the rows before the given
+         * logical index.
+         */
+        public double getExtraHeightsSumBefore(int row) {
+            double sum = 0;
+            for (int i = Math.min(row, capacity); i > 0; i -= i & -i) {
+                sum += getNode(i);
+            }
+            return sum;
+        }
+
+        public double getExtraHeightsSum() {
+            return getNode(capacity);
+        }
+
+        /**
+         * Finds the logical index of the row at a position, the position being
+         * measured in row pixels only, i.e. without any spacers.
+         *
+         * @param rowPx
+         *            the position from the top of the first row
+         * @param defaultRowHeight
+         *            the default row height of the body
+         * @return the index of the row at the position, or a row index beyond
+         *         the indexed rows if the position is below all of them
+         */
+        public int getRowAt(double rowPx, double defaultRowHeight) {
+            int row = 0;
+            double rowTop = 0;
+            for (int step = capacity; step > 0; step >>= 1) {
+                int next = row + step;
+                if (next <= capacity) {
+                    double nextTop = rowTop + step * defaultRowHeight
+                            + getNode(next);
+                    if (nextTop <= rowPx) {
+                        row = next;
+                        rowTop = nextTop;
+                    }
+                }
+            }
+            if (row == capacity) {
+                row += (int) ((rowPx - rowTop) / defaultRowHeight);
+            }
+            return row;
+        }
+
+        /**
+         * Makes room for rows inserted at the given index. The inserted rows
+         * are unmeasured. Only the measured rows after the index are moved.
+         */
+        public void insertRows(int index, int numberOfRows) {
+            shiftRows(index, numberOfRows);
+        }
+
+        public void removeRows(int index, int numberOfRows) {
+            for (Integer row : new ArrayList<Integer>(extraHeights.subMap(
+                    index, index + numberOfRows).keySet())) {
+                setExtraHeight(row, 0);
+            }
+            shiftRows(index + numberOfRows, -numberOfRows);
+        }
+
+        /**
+         * Moves the extra heights of the rows at and after the given index by
+         * an amount of rows.
+         */
+        private void shiftRows(int index, int numberOfRows) {
+            Map<Integer, Double> moved = new TreeMap<Integer, Double>(
+                    extraHeights.tailMap(index));
+            for (Integer row : moved.keySet()) {
+                setExtraHeight(row, 0);
+            }
+            for (Entry<Integer, Double> entry : moved.entrySet()) {
+                setExtraHeight(entry.getKey() + numberOfRows, entry.getValue());
+            }
+        }
+
+        private void add(int row, double diff) {
+            if (diff == 0) {
+                return;
+            }
+            while (row >= capacity) {
+                grow();
+            }
+            for (int i = row + 1; i <= capacity; i += i & -i) {
+                double value = getNode(i) + diff;
+                if (value == 0) {
+                    tree.remove(i);
+                } else {
+                    tree.put(i, value);
+                }
+            }
+        }
+
+        /**
+         * Doubles the capacity of the tree. The only new node covering any
+         * existing rows is the new root, which covers all of them.
+         */
+        private void grow() {
+            if (capacity == 0) {
+                capacity = 1;
+                return;
+            }
+            double sum = getNode(capacity);
+            capacity *= 2;
+            if (sum != 0) {
+                tree.put(capacity, sum);
+            }
+        }
+
+        private double getNode(int i) {
+            Double value = tree.get(i);
+            return value == null ? 0 : value;
+        }
+    }
+
+    private class ElementPositionBookkeeper {
+        /*
+         * The bookkept positions are stored as expando properties on the
+         * elements themselves, so that moving a row around doesn't hash the
+         * element or box its position.
+         */
+
+        /**
+         * The elements that are positioned relative to the origin. An element
+         * is listed at most once, and may remain listed after it stops being
+         * origin relative; those are dropped when the origin changes, or once
+         * enough listed elements have been removed from the bookkeeping.
+         */
+        private JsArray<Element> originRelativeElements = JavaScriptObject
+                .createArray().cast();
+
+        /** The number of listed elements removed from the bookkeeping. */
+        private int removedListedElements = 0;
+
+        /**
+         * The top position that the origin relative elements are positioned
+         * relative to in the DOM.
+         */
+        private double origin = 0;
+
+        public void set(final Element e, final double x, final double y) {
+            assert e != null : "Element was null";
+            setOriginRelative(e, false);
+            position.set(e, x, y);
+            setPosition(e, x, y);
         }
 
-        private void updateExistingSpacer(int rowIndex, double newHeight) {
-            getSpacer(rowIndex).setHeight(newHeight);
+        /**
+         * Like {@link #set(Element, double, double)}, but positions the
+         * element in the DOM relative to the current {@link #getOrigin()
+         * origin}.
+         */
+        public void setRelativeToOrigin(final Element e, final double x,
+                final double y) {
+            assert e != null : "Element was null";
+            setOriginRelative(e, true);
+            if (!isListed(e)) {
+                setListed(e, true);
+                originRelativeElements.push(e);
+            }
+            position.set(e, x, y - origin);
+            setPosition(e, x, y);
         }
 
-        public SpacerImpl getSpacer(int rowIndex) {
-            return rowIndexToSpacer.get(Integer.valueOf(rowIndex));
+        public double getOrigin() {
+            return origin;
         }
 
-        private void removeSpacer(int rowIndex) {
-            removeSpacers(Range.withOnly(rowIndex));
+        /**
+         * Repositions all origin relative elements in the DOM relative to a
+         * new origin. Their bookkept positions stay the same.
+         * 
+         * @param origin
+         *            the new top position to position elements relative to
+         */
+        public void setOrigin(double origin) {
+            this.origin = origin;
+            pruneListedElements(true);
         }
 
-        public void setStylePrimaryName(String style) {
-            for (SpacerImpl spacer : rowIndexToSpacer.values()) {
-                spacer.setStylePrimaryName(style);
+        /**
+         * Drops the listed elements that are no longer origin relative,
+         * optionally repositioning the ones that are.
+         */
+        private void pruneListedElements(boolean reposition) {
+            JsArray<Element> stillRelative = JavaScriptObject.createArray()
+                    .cast();
+            for (int i = 0; i < originRelativeElements.length(); i++) {
+                Element e = originRelativeElements.get(i);
+                if (isOriginRelative(e)) {
+                    if (reposition) {
+                        position.set(e, getLeft(e), getTop(e) - origin);
+                    }
+                    stillRelative.push(e);
+                } else {
+                    setListed(e, false);
+                }
             }
+            originRelativeElements = stillRelative;
+            removedListedElements = 0;
         }
 
-        public void setSpacerUpdater(SpacerUpdater spacerUpdater)
-                throws IllegalArgumentException {
-            if (spacerUpdater == null) {
-                throw new IllegalArgumentException(
-                        "spacer updater cannot be null");
+        public double getTop(final Element e) {
+            if (!hasPosition(e)) {
+                throw new IllegalArgumentException("Element " + e
+                        + " was not found in the position bookkeeping");
             }
-
-            destroySpacerContent(rowIndexToSpacer.values());
-            this.spacerUpdater = spacerUpdater;
-            initSpacerContent(rowIndexToSpacer.values());
+            return getTopExpando(e);
         }
 
-        public SpacerUpdater getSpacerUpdater() {
-            return spacerUpdater;
-        }
-
-        private void destroySpacerContent(Iterable<SpacerImpl> spacers) {
-            for (SpacerImpl spacer : spacers) {
-                destroySpacerContent(spacer);
+        public double getLeft(final Element e) {
+            if (!hasPosition(e)) {
+                throw new IllegalArgumentException("Element " + e
+                        + " was not found in the position bookkeeping");
             }
+            return getLeftExpando(e);
         }
 
-        private void destroySpacerContent(SpacerImpl spacer) {
-            assert getElement().isOrHasChild(spacer.getRootElement()) : "Spacer's root element somehow got detached from Escalator before detaching";
-            assert getElement().isOrHasChild(spacer.getElement()) : "Spacer element somehow got detached from Escalator before detaching";
-            spacerUpdater.destroy(spacer);
-            assert getElement().isOrHasChild(spacer.getRootElement()) : "Spacer's root element somehow got detached from Escalator before detaching";
-            assert getElement().isOrHasChild(spacer.getElement()) : "Spacer element somehow got detached from Escalator before detaching";
-        }
+        public void remove(Element e) {
+            setOriginRelative(e, false);
+            removePosition(e);
 
-        private void initSpacerContent(Iterable<SpacerImpl> spacers) {
-            for (SpacerImpl spacer : spacers) {
-                initSpacerContent(spacer);
+            // Don't keep detached elements listed until the origin changes
+            if (isListed(e) && ++removedListedElements
+                    > originRelativeElements.length() / 2) {
+                pruneListedElements(false);
             }
         }
 
-        private void initSpacerContent(SpacerImpl spacer) {
-            assert getElement().isOrHasChild(spacer.getRootElement()) : "Spacer's root element somehow got detached from Escalator before attaching";
-            assert getElement().isOrHasChild(spacer.getElement()) : "Spacer element somehow got detached from Escalator before attaching";
-            spacerUpdater.init(spacer);
-            assert getElement().isOrHasChild(spacer.getRootElement()) : "Spacer's root element somehow got detached from Escalator during attaching";
-            assert getElement().isOrHasChild(spacer.getElement()) : "Spacer element somehow got detached from Escalator during attaching";
+        private native void setPosition(Element e, double x, double y)
+        /*-{
+            e.__escalatorLeft = x;
+            e.__escalatorTop = y;
+        }-*/;
 
-            spacer.updateVisibility();
-        }
+        private native boolean hasPosition(Element e)
+        /*-{
+            return e.__escalatorTop !== undefined;
+        }-*/;
 
-        public String getSubPartName(Element subElement) {
-            for (SpacerImpl spacer : rowIndexToSpacer.values()) {
-                if (spacer.getRootElement().isOrHasChild(subElement)) {
-                    return "spacer[" + spacer.getRow() + "]";
-                }
-            }
-            return null;
+        private native double getTopExpando(Element e)
+        /*-{
+            return e.__escalatorTop;
+        }-*/;
+
+        private native double getLeftExpando(Element e)
+        /*-{
+            return e.__escalatorLeft;
+        }-*/;
+
+        private native void removePosition(Element e)
+        /*-{
+            delete e.__escalatorLeft;
+            delete e.__escalatorTop;
+        }-*/;
+
+        private native boolean isOriginRelative(Element e)
+        /*-{
+            return !!e.__escalatorOriginRelative;
+        }-*/;
+
+        private native void setOriginRelative(Element e, boolean relative)
+        /*-{
+            e.__escalatorOriginRelative = relative;
+        }-*/;
+
+        private native boolean isListed(Element e)
+        /*-{
+            return !!e.__escalatorOriginListed;
+        }-*/;
+
+        private native void setListed(Element e, boolean listed)
+        /*-{
+            e.__escalatorOriginListed = listed;
+        }-*/;
+    }
+
+    /**
+     * Applies the widths of the columns and rows, and the position of the
+     * frozen cells, through a stylesheet of the escalator's own. It has one
+     * rule for the rows, one for all the frozen cells and one per column index.
+     * Changing a width or scrolling horizontally updates a single rule instead
+     * of writing the style of every rendered row or cell.
+     */
+    private class ColumnStyleSheet {
+        private static final String SCOPE_ATTRIBUTE = "escalator-id";
+
+        private final Element styleElement = DOM.createElement("style");
+
+        /**
+         * The rules of the attached stylesheet: the row rule first, then the
+         * frozen cell rule, followed by the rule of each column.
+         * <code>null</code> while detached.
+         */
+        private JsArray<JavaScriptObject> rules;
+
+        /**
+         * A detached element that the position function positions, for
+         * copying the resulting style to the frozen cell rule.
+         */
+        private final Element frozenPositionTemplate = DOM.createDiv();
+
+        public ColumnStyleSheet() {
+            getElement().setAttribute(SCOPE_ATTRIBUTE,
+                    String.valueOf(++columnStyleSheetCount));
+            getElement().appendChild(styleElement);
         }
 
-        public Element getSubPartElement(int index) {
-            SpacerImpl spacer = rowIndexToSpacer.get(Integer.valueOf(index));
-            if (spacer != null) {
-                return spacer.getElement();
-            } else {
-                return null;
+        /**
+         * Regenerates all the rules. Needs to be called when the escalator is
+         * attached, and whenever the number of columns or the style names
+         * change.
+         */
+        public void rebuild() {
+            if (!isAttached()) {
+                rules = null;
+                return;
             }
-        }
 
-        private double calculateSpacerTop(int logicalIndex) {
-            return body.getRowTop(logicalIndex) + body.getDefaultRowHeight();
-        }
+            String rows = "[" + SCOPE_ATTRIBUTE + "=\""
+                    + getElement().getAttribute(SCOPE_ATTRIBUTE) + "\"] > ."
+                    + getStylePrimaryName() + "-tablewrapper > table > * > ";
+            String cells = rows + "tr." + getStylePrimaryName() + "-row > ";
 
-        @SuppressWarnings("boxing")
-        private void shiftSpacerPositionsAfterRow(int changedRowIndex,
-                double diffPx) {
-            for (SpacerImpl spacer : rowIndexToSpacer.tailMap(changedRowIndex,
-                    false).values()) {
-                spacer.setPositionDiff(0, diffPx);
+            StringBuilder css = new StringBuilder();
+            css.append(rows).append("tr {").append(getRowWidthCss())
+                    .append("}\n");
+            css.append(cells).append(".frozen {")
+                    .append(getFrozenPositionCss()).append("}\n");
+            cells += ":nth-child(";
+            for (int i = 0; i < columnConfiguration.getColumnCount(); i++) {
+                css.append(cells).append(i + 1).append(") {")
+                        .append(getColumnWidthCss(i)).append("}\n");
             }
+            styleElement.setInnerText(css.toString());
+
+            rules = getRules(styleElement);
         }
 
         /**
-         * Shifts spacers at and after a specific row by an amount of rows.
-         * <p>
-         * This moves both their associated row index and also their visual
-         * placement.
-         * <p>
-         * <em>Note:</em> This method does not check for the validity of any
-         * arguments.
+         * Updates the rule of a column to its calculated width.
          * 
          * @param index
-         *            the index of first row to move
-         * @param numberOfRows
-         *            the number of rows to shift the spacers with. A positive
-         *            value is downwards, a negative value is upwards.
+         *            the index of the column
          */
-        public void shiftSpacersByRows(int index, int numberOfRows) {
-            final double pxDiff = numberOfRows * body.getDefaultRowHeight();
-            for (SpacerContainer.SpacerImpl spacer : getSpacersForRowAndAfter(index)) {
-                spacer.setPositionDiff(0, pxDiff);
-                spacer.setRowIndex(spacer.getRow() + numberOfRows);
+        public void updateColumnWidth(int index) {
+            if (rules == null || index + 2 >= rules.length()) {
+                rebuild();
+            } else {
+                setCss(rules.get(index + 2), getColumnWidthCss(index));
             }
         }
 
-        private void updateSpacerDecosVisibility() {
-            final Range visibleRowRange = getVisibleRowRange();
-            Collection<SpacerImpl> visibleSpacers = rowIndexToSpacer.subMap(
-                    visibleRowRange.getStart() - 1,
-                    visibleRowRange.getEnd() + 1).values();
-            if (!visibleSpacers.isEmpty()) {
-                final double top = tableWrapper.getAbsoluteTop()
-                        + header.getHeightOfSection();
-                final double bottom = tableWrapper.getAbsoluteBottom()
-                        - footer.getHeightOfSection();
-                for (SpacerImpl spacer : visibleSpacers) {
-                    spacer.updateDecoClip(top, bottom, spacerDecoWidth);
-                }
+        /**
+         * Updates the rule of the rows to the total width of the columns.
+         */
+        public void updateRowWidth() {
+            if (rules == null) {
+                rebuild();
+            } else {
+                setCss(rules.get(0), getRowWidthCss());
             }
         }
-    }
 
-    private class ElementPositionBookkeeper {
         /**
-         * A map containing cached values of an element's current top position.
+         * Moves all the frozen cells so that they stay in place when the
+         * escalator is scrolled horizontally.
+         * 
+         * @param scrollLeft
+         *            the horizontal scroll position
          */
-        private final Map<Element, Double> elementTopPositionMap = new HashMap<Element, Double>();
-        private final Map<Element, Double> elementLeftPositionMap = new HashMap<Element, Double>();
+        public void updateFrozenPosition(double scrollLeft) {
+            position.set(frozenPositionTemplate, scrollLeft, 0);
+            if (rules == null) {
+                rebuild();
+            } else {
+                setCss(rules.get(1), getFrozenPositionCss());
+            }
+        }
 
-        public void set(final Element e, final double x, final double y) {
-            assert e != null : "Element was null";
-            position.set(e, x, y);
-            elementTopPositionMap.put(e, Double.valueOf(y));
-            elementLeftPositionMap.put(e, Double.valueOf(x));
+        private String getFrozenPositionCss() {
+            return frozenPositionTemplate.getStyle().getProperty("cssText");
         }
 
-        public double getTop(final Element e) {
-            Double top = elementTopPositionMap.get(e);
-            if (top == null) {
-                throw new IllegalArgumentException("Element " + e
-                        + " was not found in the position bookkeeping");
-            }
-            return top.doubleValue();
+        private String getColumnWidthCss(int index) {
+            double width = columnConfiguration.getColumnWidthActual(index);
+            return width >= 0 ? "width: " + width + "px;" : "";
         }
 
-        public double getLeft(final Element e) {
-            Double left = elementLeftPositionMap.get(e);
-            if (left == null) {
-                throw new IllegalArgumentException("Element " + e
-                        + " was not found in the position bookkeeping");
+        private String getRowWidthCss() {
+            double rowWidth = columnConfiguration.calculateRowWidth();
+            if (rowWidth < 0) {
+                return "";
             }
-            return left.doubleValue();
+            /*
+             * IF there is a rounding error when summing the columns, we need to
+             * round the tr width up to ensure that columns fit and do not wrap
+             * E.g.122.95+123.25+103.75+209.25+83.52+88.57+263.45+131.21+126.85+113.13=1365.9299999999998
+             * For this we must set 1365.93 or the last column will wrap
+             */
+            return "width: " + WidgetUtil.roundSizeUp(rowWidth) + "px;";
         }
 
-        public void remove(Element e) {
-            elementTopPositionMap.remove(e);
-            elementLeftPositionMap.remove(e);
-        }
+        private native JsArray<JavaScriptObject> getRules(Element style)
+        /*-{
+            return style.sheet ? style.sheet.cssRules : null;
+        }-*/;
+
+        private native void setCss(JavaScriptObject rule, String css)
+        /*-{
+            rule.style.cssText = css;
+        }-*/;
     }
 
     /**
@@ -5411,6 +7132,20 @@ public class Escalator extends Widget implements RequiresResize,
     private static final String DEFAULT_WIDTH = "500.0px";
     private static final String DEFAULT_HEIGHT = "400.0px";
 
+    /**
+     * The largest scroll size given to the vertical scrollbar. Browsers can't
+     * lay out elements much higher than this, so when the body content is
+     * higher, the scrollbar position is scaled to the body scroll position.
+     */
+    private static final double MAX_SCROLLBAR_SIZE = 1000000;
+
+    /**
+     * How far the body can be scrolled from the origin of the row positions
+     * before the rows are repositioned relative to a new origin. This keeps the
+     * CSS positions small enough to be rendered precisely.
+     */
+    private static final double MAX_CONTENT_ORIGIN_DISTANCE = 100000;
+
     private FlyweightRow flyweightRow = new FlyweightRow();
 
     /** The {@code <thead/>} tag. */
@@ -5486,6 +7221,11 @@ public class Escalator extends Widget implements RequiresResize,
 
     private final ElementPositionBookkeeper positions = new ElementPositionBookkeeper();
 
+    /** The number of column stylesheets created, for scoping their rules. */
+    private static int columnStyleSheetCount = 0;
+
+    private ColumnStyleSheet columnStyleSheet;
+
     /**
      * Creates a new Escalator widget instance.
      */
@@ -5530,6 +7270,8 @@ public class Escalator extends Widget implements RequiresResize,
                 Unit.PX);
         root.appendChild(horizontalScrollbarDeco);
 
+        columnStyleSheet = new ColumnStyleSheet();
+
         setStylePrimaryName("v-escalator");
 
         spacerDecoContainer.setAttribute("aria-hidden", "true");
@@ -5544,8 +7286,7 @@ public class Escalator extends Widget implements RequiresResize,
         ScrollHandler scrollHandler = new ScrollHandler() {
             @Override
             public void onScroll(ScrollEvent event) {
-                scroller.onScroll();
-                fireEvent(new ScrollEvent());
+                scroller.scheduleScroll();
             }
         };
 
@@ -5630,6 +7371,8 @@ public class Escalator extends Widget implements RequiresResize,
     protected void onLoad() {
         super.onLoad();
 
+        columnStyleSheet.rebuild();
+
         header.autodetectRowHeightLater();
         body.autodetectRowHeightLater();
         footer.autodetectRowHeightLater();
@@ -5671,14 +7414,8 @@ public class Escalator extends Widget implements RequiresResize,
          * rows.
          */
 
-        boolean columnsChanged = false;
-        for (ColumnConfigurationImpl.Column column : columnConfiguration.columns) {
-            boolean columnChanged = column.measureAndSetWidthIfNeeded();
-            if (columnChanged) {
-                columnsChanged = true;
-            }
-        }
-        if (columnsChanged) {
+        if (columnConfiguration.measureRequestedWidths()) {
+            columnStyleSheet.rebuild();
             header.reapplyColumnWidths();
             body.reapplyColumnWidths();
             footer.reapplyColumnWidths();
@@ -5879,7 +7616,7 @@ public class Escalator extends Widget implements RequiresResize,
      * @return the logical vertical scroll offset
      */
     public double getScrollTop() {
-        return verticalScrollbar.getScrollPos();
+        return scroller.getScrollTop();
     }
 
     /**
@@ -5890,7 +7627,7 @@ public class Escalator extends Widget implements RequiresResize,
      *            the number of pixels to scroll vertically
      */
     public void setScrollTop(final double scrollTop) {
-        verticalScrollbar.setScrollPos(scrollTop);
+        scroller.setScrollTop(scrollTop);
     }
 
     /**
@@ -5933,7 +7670,7 @@ public class Escalator extends Widget implements RequiresResize,
      * @return the scroll height in pixels
      */
     public double getScrollHeight() {
-        return verticalScrollbar.getScrollSize();
+        return scroller.getScrollSize();
     }
 
     /**
@@ -6081,14 +7818,13 @@ public class Escalator extends Widget implements RequiresResize,
                     verifyValidRowIndex(rowIndex);
                 }
 
-                // row range
-                final Range rowRange;
+                // row range, in doubles since the body may be taller than
+                // what fits in an int
+                double targetStart = 0;
+                double targetEnd = 0;
                 if (rowIndex != -1) {
-                    int rowTop = (int) Math.floor(body.getRowTop(rowIndex));
-                    int rowHeight = (int) Math.ceil(body.getDefaultRowHeight());
-                    rowRange = Range.withLength(rowTop, rowHeight);
-                } else {
-                    rowRange = Range.withLength(0, 0);
+                    targetStart = body.getRowTop(rowIndex);
+                    targetEnd = targetStart + body.getRowHeight(rowIndex);
                 }
 
                 // get spacer
@@ -6102,21 +7838,19 @@ public class Escalator extends Widget implements RequiresResize,
                 }
 
                 // make into target range
-                final Range targetRange;
                 if (spacer != null) {
-                    final int spacerTop = (int) Math.floor(spacer.getTop());
-                    final int spacerHeight = (int) Math.ceil(spacer.getHeight());
-                    Range spacerRange = Range.withLength(spacerTop,
-                            spacerHeight);
-
-                    targetRange = rowRange.combineWith(spacerRange);
-                } else {
-                    targetRange = rowRange;
+                    double spacerTop = spacer.getTop();
+                    double spacerEnd = spacerTop + spacer.getHeight();
+                    if (rowIndex == -1) {
+                        targetStart = spacerTop;
+                        targetEnd = spacerEnd;
+                    } else {
+                        targetStart = Math.min(targetStart, spacerTop);
+                        targetEnd = Math.max(targetEnd, spacerEnd);
+                    }
                 }
 
                 // get params
-                int targetStart = targetRange.getStart();
-                int targetEnd = targetRange.getEnd();
                 double viewportStart = getScrollTop();
                 double viewportEnd = viewportStart + body.getHeightOfSection();
 
@@ -6168,6 +7902,7 @@ public class Escalator extends Widget implements RequiresResize,
         scroller.recalculateScrollbarsForVirtualViewport();
         body.verifyEscalatorCount();
         body.reapplySpacerWidths();
+        body.updateVisibleColumns();
         Profiler.leave("Escalator.recalculateElementSizes");
     }
 
@@ -6247,6 +7982,23 @@ public class Escalator extends Widget implements RequiresResize,
         }
     }
 
+    /**
+     * Gets the logical index of the body row at a vertical position, without
+     * reading the DOM.
+     * 
+     * @param y
+     *            the position in pixels from the top of the body viewport
+     * @return the logical index of the row at the position, clamped to the
+     *         rows of the body, or -1 if the body has no rows
+     */
+    public int getBodyRowIndexAt(double y) {
+        if (body.getRowCount() == 0) {
+            return -1;
+        }
+        int row = body.getLogicalRowIndex(getScrollTop() + Math.max(0, y));
+        return Math.min(row, body.getRowCount() - 1);
+    }
+
     /**
      * Returns the widget from a cell node or <code>null</code> if there is no
      * widget in the cell
@@ -6290,6 +8042,8 @@ public class Escalator extends Widget implements RequiresResize,
         header.setStylePrimaryName(style);
         body.setStylePrimaryName(style);
         footer.setStylePrimaryName(style);
+
+        columnStyleSheet.rebuild();
     }
 
     /**
@@ -6335,6 +8089,132 @@ public class Escalator extends Widget implements RequiresResize,
         return heightByRows;
     }
 
+    /**
+     * Sets whether the rows in Escalator's body may be higher than the default
+     * row height.
+     * <p>
+     * When enabled, rows are measured each time they are rendered, and laid
+     * out according to their natural height. Rows that haven't been rendered
+     * yet are estimated to be of the default row height.
+     *
+     * @param variableRowHeights
+     *            <code>true</code> to measure the heights of the body rows,
+     *            <code>false</code> to use the default row height for all rows
+     */
+    public void setVariableRowHeights(boolean variableRowHeights) {
+        body.setVariableRowHeights(variableRowHeights);
+    }
+
+    /**
+     * Checks whether the rows in Escalator's body may be higher than the
+     * default row height.
+     *
+     * @return <code>true</code> if body rows are measured
+     * @see #setVariableRowHeights(boolean)
+     */
+    public boolean isVariableRowHeights() {
+        return body.isVariableRowHeights();
+    }
+
+    /**
+     * Sets the number of extra rows rendered above and below the viewport in
+     * Escalator's body.
+     * <p>
+     * Scrolling by less than the overscan rows doesn't move or refresh any
+     * rows, and the rows revealed by a fast scroll have already been rendered.
+     * The overscan rows are included in the {@link #getVisibleRowRange()
+     * visible row range}, so their data is requested along with the visible
+     * rows.
+     *
+     * @param overscan
+     *            the number of extra rows on each side of the viewport, 0 or
+     *            greater
+     * @throws IllegalArgumentException
+     *             if <code>overscan</code> is negative
+     */
+    public void setOverscan(int overscan) throws IllegalArgumentException {
+        if (overscan < 0) {
+            throw new IllegalArgumentException("Overscan cannot be negative "
+                    + "(was " + overscan + ")");
+        }
+        body.setOverscan(overscan);
+    }
+
+    /**
+     * Gets the number of extra rows rendered above and below the viewport in
+     * Escalator's body.
+     *
+     * @return the number of extra rows on each side of the viewport
+     * @see #setOverscan(int)
+     */
+    public int getOverscan() {
+        return body.getOverscan();
+    }
+
+    /**
+     * Sets whether only the cells of the columns in the horizontal viewport,
+     * and of the frozen columns, are rendered in Escalator's body.
+     * <p>
+     * The other cells are rendered once they are scrolled into view, so the
+     * cost of rendering a row no longer grows with the number of columns.
+     * Each row still has a cell element for every column, though. The cells
+     * of columns outside of the viewport may contain outdated content, so
+     * they are left out when calculating column widths from the contents.
+     *
+     * @param columnVirtualization
+     *            <code>true</code> to only render the visible columns,
+     *            <code>false</code> to render all columns
+     */
+    public void setColumnVirtualization(boolean columnVirtualization) {
+        body.setColumnVirtualization(columnVirtualization);
+    }
+
+    /**
+     * Checks whether only the cells of the visible columns are rendered in
+     * Escalator's body.
+     *
+     * @return <code>true</code> if only the visible columns are rendered
+     * @see #setColumnVirtualization(boolean)
+     */
+    public boolean isColumnVirtualization() {
+        return body.isColumnVirtualization();
+    }
+
+    /**
+     * Sets the number of body rows whose cells are measured when the width of
+     * a column is calculated from its contents.
+     * <p>
+     * The header and footer rows are always measured. Measuring a sample of
+     * the body rows is faster when many rows are rendered, at the cost of
+     * columns possibly being too narrow for the rows outside of the sample.
+     *
+     * @param rows
+     *            the number of body rows to measure, or 0 to measure all the
+     *            body rows in the DOM
+     * @throws IllegalArgumentException
+     *             if <code>rows</code> is negative
+     */
+    public void setAutoWidthSampleSize(int rows)
+            throws IllegalArgumentException {
+        if (rows < 0) {
+            throw new IllegalArgumentException("Sample size cannot be "
+                    + "negative (was " + rows + ")");
+        }
+        body.setAutoWidthSampleSize(rows);
+    }
+
+    /**
+     * Gets the number of body rows whose cells are measured when the width of
+     * a column is calculated from its contents.
+     *
+     * @return the number of body rows to measure, or 0 if all the body rows
+     *         in the DOM are measured
+     * @see #setAutoWidthSampleSize(int)
+     */
+    public int getAutoWidthSampleSize() {
+        return body.getAutoWidthSampleSize();
+    }
+
     /**
      * Reapplies the row-based height of the Grid, if Grid currently should
      * define its height that way.
@@ -6490,7 +8370,9 @@ public class Escalator extends Widget implements RequiresResize,
 
     @Override
     public boolean isWorkPending() {
-        return body.domSorter.isRunning() || verticalScrollbar.isWorkPending()
+        return body.domSorter.isRunning() || scroller.isScrollPending()
+                || body.spacerContainer.hasPendingSpacerInits()
+                || verticalScrollbar.isWorkPending()
                 || horizontalScrollbar.isWorkPending() || layoutIsScheduled;
     }
 
@@ -6509,7 +8391,7 @@ public class Escalator extends Widget implements RequiresResize,
      * @return the maximum capacity
      */
     public int getMaxVisibleRowCount() {
-        return body.getMaxEscalatorRowCapacity();
+        return body.getMaxVisibleRowCapacity();
     }
 
     /**
@@ -6539,10 +8421,16 @@ public class Escalator extends Widget implements RequiresResize,
         }
     }
 
-    private Range getViewportPixels() {
-        int from = (int) Math.floor(verticalScrollbar.getScrollPos());
-        int to = (int) body.getHeightOfSection();
-        return Range.withLength(from, to);
+    /*
+     * [[mpixscroll]]: The viewport is kept in doubles, as body pixel positions
+     * far down a scaled body don't fit in an int.
+     */
+    private double getViewportTop() {
+        return getScrollTop();
+    }
+
+    private double getViewportBottom() {
+        return getScrollTop() + body.getHeightOfSection();
     }
 
     @Override
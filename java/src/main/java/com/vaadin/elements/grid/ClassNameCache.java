@@ -0,0 +1,60 @@
+package com.vaadin.elements.grid;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Caches the class names returned by the row and cell class generators, keyed
+ * by the row index and column, so that the generators aren't called again
+ * when the escalator repaints a row whose data hasn't changed. The class names
+ * of a row are removed along with the row from the data source cache.
+ */
+final class ClassNameCache {
+
+    private final Map<Integer, String> rowClassNames = new HashMap<>();
+    private final Map<Integer, Map<Object, String>> cellClassNames = new HashMap<>();
+
+    boolean containsRow(int rowIndex) {
+        return rowClassNames.containsKey(rowIndex);
+    }
+
+    String getRow(int rowIndex) {
+        return rowClassNames.get(rowIndex);
+    }
+
+    void putRow(int rowIndex, String className) {
+        rowClassNames.put(rowIndex, className);
+    }
+
+    boolean containsCell(int rowIndex, Object column) {
+        Map<Object, String> cells = cellClassNames.get(rowIndex);
+        return cells != null && cells.containsKey(column);
+    }
+
+    String getCell(int rowIndex, Object column) {
+        Map<Object, String> cells = cellClassNames.get(rowIndex);
+        return cells == null ? null : cells.get(column);
+    }
+
+    void putCell(int rowIndex, Object column, String className) {
+        Map<Object, String> cells = cellClassNames.get(rowIndex);
+        if (cells == null) {
+            cells = new HashMap<>();
+            cellClassNames.put(rowIndex, cells);
+        }
+        cells.put(column, className);
+    }
+
+    void remove(int rowIndex) {
+        rowClassNames.remove(rowIndex);
+        cellClassNames.remove(rowIndex);
+    }
+
+    void clearRows() {
+        rowClassNames.clear();
+    }
+
+    void clearCells() {
+        cellClassNames.clear();
+    }
+}
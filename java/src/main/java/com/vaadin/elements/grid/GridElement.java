@@ -1,14 +1,16 @@
 package com.vaadin.elements.grid;
 
-import static com.google.gwt.query.client.GQuery.$;
 import static com.google.gwt.query.client.GQuery.browser;
 
+import com.google.gwt.animation.client.AnimationScheduler;
+import com.google.gwt.animation.client.AnimationScheduler.AnimationHandle;
 import com.google.gwt.core.client.JavaScriptException;
 import com.google.gwt.core.client.JavaScriptObject;
 import com.google.gwt.core.client.Scheduler;
 import com.google.gwt.core.client.Scheduler.RepeatingCommand;
 import com.google.gwt.dom.client.Document;
 import com.google.gwt.dom.client.Element;
+import com.google.gwt.dom.client.InputElement;
 import com.google.gwt.dom.client.NativeEvent;
 import com.google.gwt.dom.client.Style.Unit;
 import com.google.gwt.dom.client.TableElement;
@@ -17,8 +19,8 @@ import com.google.gwt.query.client.plugins.widgets.WidgetsUtils;
 import com.google.gwt.user.client.Timer;
 import com.google.gwt.user.client.Window;
 import com.google.gwt.user.client.ui.CheckBox;
-import com.google.gwt.user.client.ui.SimplePanel;
 
+import com.vaadin.client.widget.escalator.RowContainer;
 import com.vaadin.client.widget.grid.DataAvailableEvent;
 import com.vaadin.client.widget.grid.DetailsGenerator;
 import com.vaadin.client.widget.grid.events.SelectAllEvent;
@@ -41,16 +43,19 @@ import com.vaadin.elements.grid.config.JSCell;
 import com.vaadin.elements.grid.config.JSColumn;
 import com.vaadin.elements.grid.config.JSDataRequest;
 import com.vaadin.elements.grid.config.JSRow;
+import com.vaadin.elements.grid.config.JSSelectionSnapshot;
 import com.vaadin.elements.grid.config.JSSortOrder;
 import com.vaadin.elements.grid.data.GridDataSource;
 import com.vaadin.elements.grid.data.GridDomTableDataSource;
 import com.vaadin.elements.grid.data.GridJsFuncDataSource;
+import com.vaadin.elements.grid.selection.IndexBasedSelectionEvent;
 import com.vaadin.elements.grid.selection.IndexBasedSelectionMode;
 import com.vaadin.elements.grid.selection.IndexBasedSelectionModel;
 import com.vaadin.elements.grid.selection.IndexBasedSelectionModelMulti;
 import com.vaadin.elements.grid.selection.IndexBasedSelectionModelSingle;
 import com.vaadin.elements.grid.selection.MultiSelectModeChangedEvent;
 import com.vaadin.elements.grid.selection.MultiSelectModeChangedHandler;
+import com.vaadin.elements.grid.selection.SelectionDelta;
 import com.vaadin.elements.grid.table.GridColumn;
 import com.vaadin.elements.grid.table.GridLightDomTable;
 import com.vaadin.elements.grid.table.GridStaticSection;
@@ -87,6 +92,25 @@ public class GridElement implements SelectionHandler<Object>,
     private JSFunction<String, JSRow> rowClassGenerator;
     private JSFunction<String, JSCell> cellClassGenerator;
     private JSFunction<Object, Object> rowDetailsGenerator;
+    private JSFunction2<Object, Object> rowDetailsUpdater;
+    // Detached details panels are reused when there's an updater
+    private final RowDetailsPool rowDetailsPool = new RowDetailsPool();
+
+    private boolean reuseCellObjects = false;
+    private JSRow rowClassObject;
+    private JSCell cellClassObject;
+    // Generated class names are reused until the row data changes, if enabled
+    private boolean cacheClassNames = false;
+    private final ClassNameCache classNameCache = new ClassNameCache();
+
+    // Selection changes are reported to JS once per animation frame
+    private final SelectionDelta selectionDelta = new SelectionDelta();
+    private AnimationHandle selectionChangedFrame;
+
+    // The select all checkbox of the current multi selection model
+    private IndexBasedSelectionModel selectAllCheckBoxModel;
+    private CheckBox selectAllCheckBox;
+    private InputElement selectAllInput;
 
     @JsIgnore
     public static final int MAX_AUTO_ROWS = 10;
@@ -101,10 +125,15 @@ public class GridElement implements SelectionHandler<Object>,
         grid.addSortHandler(this);
         grid.addSelectAllHandler(this);
         grid.addHandler(this, MultiSelectModeChangedEvent.eventType);
+        // Cached cell class names were generated for the previous column
+        // indexes
+        grid.addColumnReorderHandler(e -> classNameCache.clearCells());
+        grid.addColumnVisibilityChangeHandler(e -> classNameCache
+                .clearCells());
         grid.getElement().getStyle().setHeight(0, Unit.PX);
 
-        setColumns(JS.createArray());
         staticSection = new GridStaticSection(this);
+        setColumns(JS.createArray());
 
         grid.setStylePrimaryName("vaadin-grid style-scope vaadin-grid");
     }
@@ -186,6 +215,40 @@ public class GridElement implements SelectionHandler<Object>,
         grid.getEscalator().getBody().setDefaultRowHeight(d);
     }
 
+    public void setVariableRowHeights(boolean variableRowHeights) {
+        grid.getEscalator().setVariableRowHeights(variableRowHeights);
+    }
+
+    public boolean isVariableRowHeights() {
+        return grid.getEscalator().isVariableRowHeights();
+    }
+
+    public void setOverscan(int overscan) {
+        grid.getEscalator().setOverscan(
+                JSValidate.Integer.val(overscan, 0, 0));
+    }
+
+    public int getOverscan() {
+        return grid.getEscalator().getOverscan();
+    }
+
+    public void setColumnVirtualization(boolean columnVirtualization) {
+        grid.getEscalator().setColumnVirtualization(columnVirtualization);
+    }
+
+    public boolean isColumnVirtualization() {
+        return grid.getEscalator().isColumnVirtualization();
+    }
+
+    public void setAutoWidthSampleSize(int autoWidthSampleSize) {
+        grid.getEscalator().setAutoWidthSampleSize(
+                JSValidate.Integer.val(autoWidthSampleSize, 0, 0));
+    }
+
+    public int getAutoWidthSampleSize() {
+        return grid.getEscalator().getAutoWidthSampleSize();
+    }
+
     public JSColumn addColumn(JSColumn jsColumn, Object beforeColumnId) {
         int index = cols.length();
         if (beforeColumnId != null) {
@@ -268,10 +331,26 @@ public class GridElement implements SelectionHandler<Object>,
     @JsIgnore
     @Override
     public void onSelect(SelectionEvent<Object> ev) {
+        // The checkbox must be in sync right away, since clicking it toggles
+        // its current value
         updateSelectAllCheckBox();
-        if (!updating) {
-            triggerEvent("selected-items-changed");
+        if (ev instanceof IndexBasedSelectionEvent) {
+            selectionDelta.merge((IndexBasedSelectionEvent) ev);
+        } else {
+            selectionDelta.reset();
+        }
+        if (selectionChangedFrame == null) {
+            selectionChangedFrame = AnimationScheduler.get()
+                    .requestAnimationFrame(timestamp -> flushSelectionChange());
+        }
+    }
+
+    private void flushSelectionChange() {
+        selectionChangedFrame = null;
+        if (!updating && !selectionDelta.isEmpty()) {
+            triggerEvent("selected-items-changed", selectionDelta.toJs());
         }
+        selectionDelta.clear();
     }
 
     private void triggerEvent(String eventName) {
@@ -282,6 +361,21 @@ public class GridElement implements SelectionHandler<Object>,
         }
     }
 
+    private void triggerEvent(String eventName, Object detail) {
+        if (container != null) {
+            container.dispatchEvent(createCustomEvent(eventName, detail));
+        }
+    }
+
+    // IE does not support the CustomEvent constructor
+    private static native NativeEvent createCustomEvent(String eventName,
+            Object detail)
+    /*-{
+        var event = $doc.createEvent('CustomEvent');
+        event.initCustomEvent(eventName, false, true, detail);
+        return event;
+    }-*/;
+
     public void setHeight(String height) {
         grid.setHeight(height);
     }
@@ -306,6 +400,7 @@ public class GridElement implements SelectionHandler<Object>,
 
     public void setColumns(JSArray<JSColumn> columns) {
         this.cols = columns;
+        classNameCache.clearCells();
 
         // Add all missing columns to grid
         Collection<JSColumn> currentColumns = new ArrayList<JSColumn>();
@@ -326,15 +421,18 @@ public class GridElement implements SelectionHandler<Object>,
         // Remove all non-included columns from grid
         for (GridColumn column : getDataColumns()) {
             if (columns.indexOf(column.getJsColumn()) == -1) {
+                staticSection.removeColumnCells(column);
                 grid.removeColumn(column);
             }
         }
 
         // Fix column order
         GridColumn[] array = getDataColumns().toArray(new GridColumn[0]);
-        Arrays.sort(array,
-                (o1, o2) -> columns.indexOf(o1.getJsColumn()) > columns
-                        .indexOf(o2.getJsColumn()) ? 1 : -1);
+        for (GridColumn column : array) {
+            column.setColumnIndex(columns.indexOf(column.getJsColumn()));
+        }
+        Arrays.sort(array, (o1, o2) -> o1.getColumnIndex() > o2
+                .getColumnIndex() ? 1 : -1);
         if (array.length > 0) {
             grid.setColumnOrder(array);
         }
@@ -378,9 +476,40 @@ public class GridElement implements SelectionHandler<Object>,
         return getSelectionModel().getMode().name().toLowerCase();
     }
 
+    public JSSelectionSnapshot exportSelection(
+            JSFunction<Object, Integer> keyMapper) {
+        return getSelectionModel().exportSelection(keyMapper);
+    }
+
+    public void importSelection(JSSelectionSnapshot snapshot,
+            JSFunction<Object, Object> keyResolver) {
+        // A model supporting the mode switches to it while importing, without
+        // the reset event setSelectionMode would fire
+        IndexBasedSelectionMode mode = JSEnums.Selection.val(snapshot
+                .getMode());
+        if (!getSelectionModel().supportsMode(mode)) {
+            setSelectionMode(snapshot.getMode());
+        }
+        getSelectionModel().importSelection(snapshot, keyResolver);
+    }
+
     public void setRowClassGenerator(JSFunction<String, JSRow> generator) {
+        classNameCache.clearRows();
         grid.setRowStyleGenerator(JS.isUndefinedOrNull(generator) ? null
-                : row -> generator.f(new JSRow(row, container)));
+                : row -> {
+                    int key = row.getRowIndex();
+                    if (!cacheClassNames) {
+                        rowClassObject = JSRow.obtain(rowClassObject, row,
+                                this);
+                        return generator.f(rowClassObject);
+                    } else if (!classNameCache.containsRow(key)) {
+                        rowClassObject = JSRow.obtain(rowClassObject, row,
+                                this);
+                        classNameCache.putRow(key,
+                                generator.f(rowClassObject));
+                    }
+                    return classNameCache.getRow(key);
+                });
         rowClassGenerator = generator;
     }
 
@@ -389,15 +518,88 @@ public class GridElement implements SelectionHandler<Object>,
     }
 
     public void setCellClassGenerator(JSFunction<String, JSCell> generator) {
+        classNameCache.clearCells();
         grid.setCellStyleGenerator(JS.isUndefinedOrNull(generator) ? null
-                : cell -> generator.f(new JSCell(cell, container)));
+                : cell -> {
+                    int key = cell.getRowIndex();
+                    if (!cacheClassNames) {
+                        cellClassObject = JSCell.obtain(cellClassObject, cell,
+                                this);
+                        return generator.f(cellClassObject);
+                    } else if (!classNameCache.containsCell(key,
+                            cell.getColumn())) {
+                        cellClassObject = JSCell.obtain(cellClassObject, cell,
+                                this);
+                        classNameCache.putCell(key, cell.getColumn(),
+                                generator.f(cellClassObject));
+                    }
+                    return classNameCache.getCell(key, cell.getColumn());
+                });
         cellClassGenerator = generator;
     }
 
+    /**
+     * Sets whether the class names returned by the row and cell class
+     * generators are reused for a row while it stays in the data source
+     * cache, until the items change, {@link #refreshClassNames()} is called,
+     * or for cells, the columns change.
+     */
+    public void setCacheClassNames(boolean cacheClassNames) {
+        this.cacheClassNames = cacheClassNames;
+        invalidateClassNames();
+    }
+
+    public boolean isCacheClassNames() {
+        return cacheClassNames;
+    }
+
+    /**
+     * Generates the class names of the rendered rows and cells again, e.g.
+     * when the generators depend on state other than the row item.
+     */
+    public void refreshClassNames() {
+        invalidateClassNames();
+        RowContainer body = grid.getEscalator().getBody();
+        body.refreshRows(0, body.getRowCount());
+    }
+
+    /**
+     * Forgets the class names returned by the row and cell class generators,
+     * so that they are generated again when the rows are repainted.
+     */
+    @JsIgnore
+    public void invalidateClassNames() {
+        classNameCache.clearRows();
+        classNameCache.clearCells();
+    }
+
+    /**
+     * Forgets the class names of a row that has been dropped from the data
+     * source cache.
+     */
+    @JsIgnore
+    public void invalidateClassNames(int rowIndex) {
+        classNameCache.remove(rowIndex);
+    }
+
     public JSFunction<String, JSCell> getCellClassGenerator() {
         return cellClassGenerator;
     }
 
+    /**
+     * Sets whether the cell and row objects passed to column renderers and
+     * class generators are reused for every call instead of being created
+     * each time. Reusing them avoids creating objects for every rendered
+     * cell, but the objects must not be retained after the call returns.
+     */
+    public void setReuseCellObjects(boolean reuseCellObjects) {
+        this.reuseCellObjects = reuseCellObjects;
+    }
+
+    public boolean isReuseCellObjects() {
+        return reuseCellObjects;
+    }
+
     // The method should only be called on init/attach
     private boolean resetSizesFromDomCalled = false;
 
@@ -433,10 +635,21 @@ public class GridElement implements SelectionHandler<Object>,
         sizeUpdater.schedule(50);
     }
 
+    // Column widths are recalculated once for a burst of updateWidth calls
+    private boolean columnWidthsRecalculationPending = false;
+
     @JsIgnore
     public void updateWidth() {
         grid.setWidth("100%");
-        Scheduler.get().scheduleDeferred(() -> grid.recalculateColumnWidths());
+        if (!columnWidthsRecalculationPending) {
+            columnWidthsRecalculationPending = true;
+            Scheduler.get().scheduleDeferred(() -> {
+                columnWidthsRecalculationPending = false;
+                // Measure the static sections with their latest contents
+                staticSection.flushRefreshes();
+                grid.recalculateColumnWidths();
+            });
+        }
     }
 
     @JsIgnore
@@ -514,7 +727,8 @@ public class GridElement implements SelectionHandler<Object>,
         return grid.getDataSource() != null
                 && ((GridDataSource) grid.getDataSource()).isWaitingForData()
                 || grid.isWorkPending() || sizeUpdater.isRunning()
-                || columnsPending();
+                || selectionChangedFrame != null || columnsPending()
+                || staticSection.isWorkPending();
     }
 
     // This is needed because the col Observer is not synchronous in iOS
@@ -597,24 +811,57 @@ public class GridElement implements SelectionHandler<Object>,
     private void updateSelectAllCheckBox() {
         CheckBox selectAllCheckBox = getSelectAllCheckBox();
         if (selectAllCheckBox != null) {
-            $(selectAllCheckBox).children().addClass("vaadin-grid",
-                    "style-scope");
             IndexBasedSelectionModelMulti model = (IndexBasedSelectionModelMulti) getSelectionModel();
-            $(selectAllCheckBox).find("input").prop("indeterminate",
-                    model.isIndeterminate());
-            selectAllCheckBox.setValue(model.isChecked(), false);
+            boolean indeterminate = model.isIndeterminate();
+            boolean checked = model.isChecked();
+            // This runs for every selection change, so only touch the DOM
+            // when the state changes
+            if (indeterminate != isIndeterminate(selectAllInput)) {
+                setIndeterminate(selectAllInput, indeterminate);
+            }
+            if (checked != selectAllInput.isChecked()) {
+                selectAllCheckBox.setValue(checked, false);
+            }
         }
     }
 
+    /**
+     * Returns the select all checkbox of the multi selection column, looking
+     * it up from the header only when the selection model or the header cell
+     * has changed since the last call.
+     */
     private CheckBox getSelectAllCheckBox() {
-        CheckBox result = null;
-        if (getSelectionModel() instanceof SelectionModel.Multi) {
-            result = (CheckBox) grid.getDefaultHeaderRow()
+        IndexBasedSelectionModel model = getSelectionModel();
+        if (!(model instanceof SelectionModel.Multi)) {
+            return null;
+        }
+        if (selectAllCheckBoxModel != model || selectAllCheckBox == null
+                || !selectAllCheckBox.isAttached()) {
+            selectAllCheckBoxModel = model;
+            selectAllCheckBox = (CheckBox) grid.getDefaultHeaderRow()
                     .getCell(grid.getColumn(0)).getWidget();
+            Element checkBoxElement = selectAllCheckBox.getElement();
+            for (Element child = checkBoxElement.getFirstChildElement(); child != null; child = child
+                    .getNextSiblingElement()) {
+                child.addClassName("vaadin-grid");
+                child.addClassName("style-scope");
+            }
+            selectAllInput = checkBoxElement.getFirstChildElement().cast();
         }
-        return result;
+        return selectAllCheckBox;
     }
 
+    private static native boolean isIndeterminate(InputElement input)
+    /*-{
+        return !!input.indeterminate;
+    }-*/;
+
+    private static native void setIndeterminate(InputElement input,
+            boolean indeterminate)
+    /*-{
+        input.indeterminate = indeterminate;
+    }-*/;
+
     @JsIgnore
     public void setLoadingDataClass(boolean loadingData) {
         String loadingDataClassName = "vaadin-grid-loading-data";
@@ -627,13 +874,10 @@ public class GridElement implements SelectionHandler<Object>,
     }
 
     public void setRowDetailsGenerator(JSFunction<Object, Object> generator) {
+        rowDetailsPool.clear();
         grid.setDetailsGenerator(JS.isUndefinedOrNull(generator) ? DetailsGenerator.NULL
-                : rowIndex -> {
-                    Object details = generator.f(rowIndex);
-                    return JS.isUndefinedOrNull(details) ? null
-                            : new SimplePanel((Element) details) {
-                            };
-                });
+                : rowIndex -> rowDetailsPool.getDetails(rowIndex, generator,
+                        rowDetailsUpdater));
         rowDetailsGenerator = generator;
     }
 
@@ -641,6 +885,22 @@ public class GridElement implements SelectionHandler<Object>,
         return rowDetailsGenerator;
     }
 
+    /**
+     * Sets a function that updates the details element of a previously shown
+     * row to show the details of another row. When set, the details elements
+     * of hidden details are reused instead of generating new ones.
+     */
+    public void setRowDetailsUpdater(JSFunction2<Object, Object> updater) {
+        rowDetailsPool.clear();
+        rowDetailsUpdater = JS.isUndefinedOrNull(updater) ? null : updater;
+        // The generator captures the updater
+        setRowDetailsGenerator(rowDetailsGenerator);
+    }
+
+    public JSFunction2<Object, Object> getRowDetailsUpdater() {
+        return rowDetailsUpdater;
+    }
+
     public void setRowDetailsVisible(int rowIndex, Object visible) {
         then(o -> {
             Integer validatedRowIndex = JSValidate.Integer.val(rowIndex, null,
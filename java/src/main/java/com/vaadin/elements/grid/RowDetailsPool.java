@@ -0,0 +1,76 @@
+package com.vaadin.elements.grid;
+
+import com.google.gwt.dom.client.Element;
+import com.google.gwt.user.client.ui.SimplePanel;
+import com.google.gwt.user.client.ui.Widget;
+import com.vaadin.elements.common.js.JS;
+import com.vaadin.elements.common.js.JSFunction;
+import com.vaadin.elements.common.js.JSFunction2;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the row details panels that have been detached from the grid, so that
+ * the details of another row can be updated into an existing panel instead of
+ * being generated again.
+ */
+final class RowDetailsPool {
+
+    // Detached panels beyond this many are left for the garbage collector
+    private static final int MAX_PANELS = 20;
+
+    private final List<DetailsPanel> panels = new ArrayList<>();
+
+    private class DetailsPanel extends SimplePanel {
+        DetailsPanel(Element details) {
+            super(details);
+        }
+
+        @Override
+        protected void onLoad() {
+            super.onLoad();
+            // Attached again, e.g. when the whole grid is re-attached
+            panels.remove(this);
+        }
+
+        @Override
+        protected void onUnload() {
+            super.onUnload();
+            if (panels.size() < MAX_PANELS) {
+                panels.add(this);
+            }
+        }
+    }
+
+    /**
+     * Gets the details panel of a row. A released panel is reused if there is
+     * an updater for updating it, otherwise the generator is called.
+     */
+    Widget getDetails(int rowIndex, JSFunction<Object, Object> generator,
+            JSFunction2<Object, Object> updater) {
+        if (updater != null) {
+            for (int i = panels.size() - 1; i >= 0; i--) {
+                /*
+                 * A panel is also unloaded when the whole grid is detached,
+                 * while its spacer still shows it. Only the panels the grid
+                 * has released from their destroyed spacer are reused.
+                 */
+                DetailsPanel panel = panels.get(i);
+                if (panel.getParent() == null) {
+                    panels.remove(i);
+                    updater.f(rowIndex, panel.getElement());
+                    return panel;
+                }
+            }
+        }
+
+        Object details = generator.f(rowIndex);
+        return JS.isUndefinedOrNull(details) ? null : new DetailsPanel(
+                (Element) details);
+    }
+
+    void clear() {
+        panels.clear();
+    }
+}
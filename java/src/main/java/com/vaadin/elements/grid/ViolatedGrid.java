@@ -92,13 +92,34 @@ public class ViolatedGrid extends Grid<Object> {
       this.@com.vaadin.client.widgets.Grid::refreshFooter()();
     }-*/;
 
-    public void refreshStaticSection(StaticSection.StaticCell cell) {
-        if (cell instanceof HeaderCell) {
-            refreshHeader();
-        } else {
-            refreshFooter();
-        }
-    }
+    /**
+     * Checks whether the header or the footer has a refresh of all its rows
+     * scheduled for the end of the task.
+     */
+    public native boolean isStaticSectionRefreshPending(boolean header)
+    /*-{
+      if (header) {
+        var h = this.@com.vaadin.client.widgets.Grid::header;
+        return h.@com.vaadin.client.widgets.Grid.Header::markAsDirty;
+      }
+      var f = this.@com.vaadin.client.widgets.Grid::footer;
+      return f.@com.vaadin.client.widgets.Grid.Footer::markAsDirty;
+    }-*/;
+
+    /**
+     * Cancels the scheduled refresh of the header or the footer, once its
+     * changes have been repainted otherwise.
+     */
+    public native void cancelStaticSectionRefresh(boolean header)
+    /*-{
+      if (header) {
+        var h = this.@com.vaadin.client.widgets.Grid::header;
+        h.@com.vaadin.client.widgets.Grid.Header::markAsDirty = false;
+      } else {
+        var f = this.@com.vaadin.client.widgets.Grid::footer;
+        f.@com.vaadin.client.widgets.Grid.Footer::markAsDirty = false;
+      }
+    }-*/;
 
     /**
      * The method is overridden for now to avoid IE related bugs and performance
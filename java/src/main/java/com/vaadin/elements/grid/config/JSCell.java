@@ -7,6 +7,7 @@ import jsinterop.annotations.JsType;
 import com.google.gwt.dom.client.Element;
 import com.vaadin.client.widget.grid.CellReference;
 import com.vaadin.elements.common.js.JS;
+import com.vaadin.elements.grid.GridElement;
 import com.vaadin.elements.grid.table.GridColumn;
 
 /**
@@ -16,7 +17,7 @@ import com.vaadin.elements.grid.table.GridColumn;
 @JsType(namespace = JS.NAMESPACE_API)
 public class JSCell {
 
-    private final CellReference<Object> cell;
+    private CellReference<Object> cell;
     private final JSRow jsRow;
     public final Element grid;
 
@@ -27,6 +28,31 @@ public class JSCell {
         this.grid = container;
     }
 
+    /**
+     * Re-points this object and its row object to another cell, so that it
+     * can be reused.
+     */
+    @JsIgnore
+    public void setReference(CellReference<Object> cellReference) {
+        this.cell = cellReference;
+        jsRow.setReference(cellReference);
+    }
+
+    /**
+     * Returns a cell object for the given cell. When cell objects are reused,
+     * the given one is re-pointed to the cell if not null, otherwise a new
+     * object is created.
+     */
+    @JsIgnore
+    public static JSCell obtain(JSCell reusable,
+            CellReference<Object> cellReference, GridElement grid) {
+        if (reusable != null && grid.isReuseCellObjects()) {
+            reusable.setReference(cellReference);
+            return reusable;
+        }
+        return new JSCell(cellReference, grid.getContainer());
+    }
+
     @JsProperty
     Element getElement() {
         return cell.getElement();
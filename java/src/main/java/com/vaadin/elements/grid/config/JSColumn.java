@@ -1,12 +1,17 @@
 package com.vaadin.elements.grid.config;
 
+import java.util.Objects;
+
+import jsinterop.annotations.JsIgnore;
 import jsinterop.annotations.JsProperty;
 import jsinterop.annotations.JsType;
 
+import com.google.gwt.dom.client.Element;
 import com.vaadin.elements.common.js.JS;
 import com.vaadin.elements.common.js.JSFunction;
 import com.vaadin.elements.grid.GridElement;
 import com.vaadin.elements.grid.table.GridColumn;
+import com.vaadin.elements.grid.table.GridTemplateRenderer;
 import com.vaadin.shared.ui.grid.GridConstants;
 
 /**
@@ -24,6 +29,11 @@ public class JSColumn {
     private GridElement grid;
     private String name;
     private JSFunction<?, JSCell> renderer;
+    // Passed to the renderer when cell objects are reused
+    private JSCell cellObject;
+    // Renderer stamping the light DOM template of the column, if any
+    private GridTemplateRenderer templateRenderer;
+    private String templateHtml;
 
     public void configure(GridElement gridElement, GridColumn column) {
         col = column;
@@ -50,11 +60,43 @@ public class JSColumn {
     @JsProperty
     public void setRenderer(JSFunction<?, JSCell> o) {
         renderer = o;
+        if (JS.isUndefinedOrNull(o)) {
+            applyTemplateRenderer();
+            return;
+        }
         col.setRenderer((cell, data) -> {
-            renderer.f(new JSCell(cell, grid.getContainer()));
+            cellObject = JSCell.obtain(cellObject, cell, grid);
+            renderer.f(cellObject);
         });
     }
 
+    /**
+     * Renders the cells of this column by stamping the given template, or
+     * with the default renderer if the template is null. A renderer set from
+     * JS takes precedence over the template.
+     */
+    @JsIgnore
+    public void setTemplate(Element template) {
+        String html = template == null ? null : template.getInnerHTML();
+        if (Objects.equals(html, templateHtml)) {
+            return;
+        }
+        templateHtml = html;
+        templateRenderer = template == null ? null : new GridTemplateRenderer(
+                template);
+        if (JS.isUndefinedOrNull(renderer)) {
+            applyTemplateRenderer();
+        }
+    }
+
+    private void applyTemplateRenderer() {
+        if (templateRenderer != null) {
+            col.setRenderer(templateRenderer);
+        } else {
+            col.setDefaultRenderer();
+        }
+    }
+
     @JsProperty
     public String getHidingToggleText() {
         return col.getHidingToggleCaption();
@@ -0,0 +1,23 @@
+package com.vaadin.elements.grid.config;
+
+import jsinterop.annotations.JsProperty;
+import jsinterop.annotations.JsType;
+
+/**
+ * This class is a JsInterop wrapper for the JS object representing a range of
+ * row indexes.
+ */
+@JsType(isNative = true)
+public interface JSIndexRange {
+    @JsProperty
+    int getIndex();
+
+    @JsProperty
+    void setIndex(int index);
+
+    @JsProperty
+    int getCount();
+
+    @JsProperty
+    void setCount(int count);
+}
@@ -8,14 +8,15 @@ import com.google.gwt.dom.client.Element;
 import com.vaadin.client.widget.grid.CellReference;
 import com.vaadin.client.widget.grid.RowReference;
 import com.vaadin.elements.common.js.JS;
+import com.vaadin.elements.grid.GridElement;
 import com.vaadin.elements.grid.data.GridDataSource;
 
 @JsType(namespace = JS.NAMESPACE_API)
 @SuppressWarnings("rawtypes")
 public class JSRow {
 
-    private final CellReference cell;
-    private final RowReference row;
+    private CellReference cell;
+    private RowReference row;
     public final Element grid;
 
     @JsIgnore
@@ -32,6 +33,40 @@ public class JSRow {
         this.grid = container;
     }
 
+    /**
+     * Re-points this object to another row, so that it can be reused.
+     */
+    @JsIgnore
+    public void setReference(RowReference row) {
+        this.row = row;
+        this.cell = null;
+    }
+
+    /**
+     * Re-points this object to the row of another cell, so that it can be
+     * reused.
+     */
+    @JsIgnore
+    public void setReference(CellReference cell) {
+        this.row = null;
+        this.cell = cell;
+    }
+
+    /**
+     * Returns a row object for the given row. When row objects are reused, the
+     * given one is re-pointed to the row if not null, otherwise a new object
+     * is created.
+     */
+    @JsIgnore
+    public static JSRow obtain(JSRow reusable, RowReference row,
+            GridElement grid) {
+        if (reusable != null && grid.isReuseCellObjects()) {
+            reusable.setReference(row);
+            return reusable;
+        }
+        return new JSRow(row, grid.getContainer());
+    }
+
     @JsProperty
     int getIndex() {
         return cell != null ? cell.getRowIndex() : row.getRowIndex();
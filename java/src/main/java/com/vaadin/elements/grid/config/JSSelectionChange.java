@@ -0,0 +1,31 @@
+package com.vaadin.elements.grid.config;
+
+import jsinterop.annotations.JsProperty;
+import jsinterop.annotations.JsType;
+
+import com.vaadin.elements.common.js.JSArray;
+
+/**
+ * This class is a JsInterop wrapper for the JS object passed as the detail of
+ * the selected-items-changed event.
+ */
+@JsType(isNative = true)
+public interface JSSelectionChange {
+    @JsProperty
+    JSArray<JSIndexRange> getAdded();
+
+    @JsProperty
+    void setAdded(JSArray<JSIndexRange> added);
+
+    @JsProperty
+    JSArray<JSIndexRange> getRemoved();
+
+    @JsProperty
+    void setRemoved(JSArray<JSIndexRange> removed);
+
+    @JsProperty
+    boolean getReset();
+
+    @JsProperty
+    void setReset(boolean reset);
+}
@@ -0,0 +1,32 @@
+package com.vaadin.elements.grid.config;
+
+import jsinterop.annotations.JsProperty;
+import jsinterop.annotations.JsType;
+
+import com.vaadin.elements.common.js.JSArray;
+
+/**
+ * This class is a JsInterop wrapper for the JS object representing a
+ * serializable selection snapshot. Ranges are run-length encoded as a flat
+ * array of index and count pairs.
+ */
+@JsType(isNative = true)
+public interface JSSelectionSnapshot {
+    @JsProperty
+    String getMode();
+
+    @JsProperty
+    void setMode(String mode);
+
+    @JsProperty
+    JSArray<Double> getRanges();
+
+    @JsProperty
+    void setRanges(JSArray<Double> ranges);
+
+    @JsProperty
+    JSArray<Object> getKeys();
+
+    @JsProperty
+    void setKeys(JSArray<Object> keys);
+}
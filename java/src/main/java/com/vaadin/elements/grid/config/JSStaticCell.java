@@ -10,6 +10,7 @@ import com.google.gwt.dom.client.Element;
 import com.google.gwt.query.client.js.JsUtils;
 import com.google.gwt.user.client.ui.SimplePanel;
 import com.vaadin.client.widgets.Grid.StaticSection.StaticCell;
+import com.vaadin.client.widgets.Grid.StaticSection.StaticRow;
 import com.vaadin.elements.common.js.JS;
 import com.vaadin.elements.grid.GridElement;
 import com.vaadin.elements.grid.table.GridColumn;
@@ -22,14 +23,17 @@ import com.vaadin.shared.util.SharedUtil;
 @JsType(namespace = JS.NAMESPACE_API)
 public class JSStaticCell {
 
+    private final StaticRow<?> row;
     private final StaticCell cell;
     private Object content;
     private final GridElement gridElement;
     private final static String CONTENT_WRAPPER = "<span style='overflow: hidden;text-overflow: ellipsis;'>%CONTENT%</span>";
 
     @JsIgnore
-    public JSStaticCell(StaticCell staticCell, GridElement gridElement) {
+    public JSStaticCell(StaticRow<?> staticRow, StaticCell staticCell,
+            GridElement gridElement) {
         this.gridElement = gridElement;
+        row = staticRow;
         cell = staticCell;
         content = cell.getType() == HTML ? cell.getHtml()
                 : cell.getType() == WIDGET ? cell.getWidget().getElement()
@@ -44,8 +48,7 @@ public class JSStaticCell {
     @JsProperty
     public void setContent(Object content) {
         this.content = content;
-        contentChanged(content);
-        cellChanged();
+        cellChanged(() -> contentChanged(content));
     }
 
     @JsProperty
@@ -55,8 +58,7 @@ public class JSStaticCell {
 
     @JsProperty
     public void setColspan(int colspan) {
-        cell.setColspan(colspan);
-        cellChanged();
+        cellChanged(() -> cell.setColspan(colspan));
     }
 
     @JsProperty
@@ -66,13 +68,11 @@ public class JSStaticCell {
 
     @JsProperty
     public void setClassName(String className) {
-        cell.setStyleName(className);
-        cellChanged();
+        cellChanged(() -> cell.setStyleName(className));
     }
 
-    private void cellChanged() {
-        gridElement.updateWidth();
-        gridElement.getGrid().refreshStaticSection(cell);
+    private void cellChanged(Runnable change) {
+        gridElement.getStaticSection().changeCell(row, cell, change);
     }
 
     private void contentChanged(Object content) {
@@ -46,6 +46,8 @@ public abstract class GridDataSource extends AbstractRemoteDataSource<Object> {
     }
 
     public void refreshItems() {
+        // Items may have been modified in place
+        gridElement.invalidateClassNames();
         Range range = getCachedRange();
         requestRows(range.getStart(), range.length(),
                 new RequestRowsCallback<Object>(this, range) {
@@ -54,12 +56,19 @@ public abstract class GridDataSource extends AbstractRemoteDataSource<Object> {
 
     @Override
     protected void resetDataAndSize(int newSize) {
+        gridElement.invalidateClassNames();
         super.resetDataAndSize(newSize);
 
         gridElement.getSelectionModel().dataSizeUpdated(newSize);
 
     }
 
+    @Override
+    protected void onDropFromCache(int rowIndex) {
+        super.onDropFromCache(rowIndex);
+        gridElement.invalidateClassNames(rowIndex);
+    }
+
     public void getItem(Double rowIndex,
             JSFunction2<JavaScriptObject, Object> callback, boolean onlyCached) {
         Integer index = JSValidate.Integer.val(rowIndex, -1, -1);
@@ -99,12 +108,16 @@ public abstract class GridDataSource extends AbstractRemoteDataSource<Object> {
     @JsIgnore
     @Override
     public void insertRowData(int firstRowIndex, int count) {
+        // The class names are cached by row index
+        gridElement.invalidateClassNames();
         super.insertRowData(firstRowIndex, count);
     }
 
     @JsIgnore
     @Override
     public void removeRowData(int firstRowIndex, int count) {
+        gridElement.invalidateClassNames();
+
         // super.removeRowData(firstRowIndex, count);
 
         // FIXME: For some bloody reason the size needs to be reduced in small
@@ -0,0 +1,53 @@
+package com.vaadin.elements.grid.selection;
+
+import com.vaadin.client.widget.grid.selection.SelectionEvent;
+import com.vaadin.client.widgets.Grid;
+import com.vaadin.shared.ui.grid.Range;
+
+/**
+ * A {@link SelectionEvent} which carries the row index ranges that were
+ * selected or deselected. A reset event means that the change can't be
+ * described with ranges (e.g. the whole selection was cleared) and listeners
+ * should re-read the selection.
+ */
+public class IndexBasedSelectionEvent extends SelectionEvent<Object> {
+
+    private final Range selected;
+    private final Range deselected;
+    private final boolean reset;
+
+    public IndexBasedSelectionEvent(Grid<Object> grid, Range selected,
+            Range deselected) {
+        this(grid, selected, deselected, false);
+    }
+
+    private IndexBasedSelectionEvent(Grid<Object> grid, Range selected,
+            Range deselected, boolean reset) {
+        super(grid, null, null, reset);
+        this.selected = selected;
+        this.deselected = deselected;
+        this.reset = reset;
+    }
+
+    public static IndexBasedSelectionEvent reset(Grid<Object> grid) {
+        return new IndexBasedSelectionEvent(grid, null, null, true);
+    }
+
+    /**
+     * Returns the selected range, or null if nothing was selected.
+     */
+    public Range getSelected() {
+        return selected;
+    }
+
+    /**
+     * Returns the deselected range, or null if nothing was deselected.
+     */
+    public Range getDeselected() {
+        return deselected;
+    }
+
+    public boolean isReset() {
+        return reset;
+    }
+}
@@ -6,6 +6,7 @@ import com.vaadin.client.widget.grid.selection.SelectionModel;
 import com.vaadin.elements.common.js.JS;
 import com.vaadin.elements.common.js.JSArray;
 import com.vaadin.elements.common.js.JSFunction;
+import com.vaadin.elements.grid.config.JSSelectionSnapshot;
 
 /**
  * Selection model based on row indexes.
@@ -68,4 +69,19 @@ public interface IndexBasedSelectionModel extends SelectionModel<Object> {
      */
     boolean supportsMode(IndexBasedSelectionMode mode);
 
+    /**
+     * Returns a compact snapshot of the selection. If a key mapper is given,
+     * the snapshot also contains the keys mapped from the indexes in its
+     * ranges.
+     */
+    JSSelectionSnapshot exportSelection(JSFunction<Object, Integer> keyMapper);
+
+    /**
+     * Restores a snapshot created by {@link #exportSelection}, firing a single
+     * selection event. If a key resolver is given, the rows are resolved from
+     * the keys of the snapshot.
+     */
+    void importSelection(JSSelectionSnapshot snapshot,
+            JSFunction<Object, Object> keyResolver);
+
 }
@@ -1,9 +1,13 @@
 package com.vaadin.elements.grid.selection;
 
+import java.util.Collections;
+
 import com.vaadin.client.widget.grid.selection.SelectionModelNone;
 import com.vaadin.elements.common.js.JS;
 import com.vaadin.elements.common.js.JSArray;
 import com.vaadin.elements.common.js.JSFunction;
+import com.vaadin.elements.grid.config.JSSelectionSnapshot;
+import com.vaadin.shared.ui.grid.Range;
 
 /**
  * An {@link IndexBasedSelectionModel} for selection disabled.
@@ -64,4 +68,16 @@ public class IndexBasedSelectionModelDisabled extends
         return mode == IndexBasedSelectionMode.DISABLED;
     }
 
+    @Override
+    public JSSelectionSnapshot exportSelection(
+            JSFunction<Object, Integer> keyMapper) {
+        return SelectionUtil.createSnapshot(getMode(),
+                Collections.<Range> emptyList(), keyMapper);
+    }
+
+    @Override
+    public void importSelection(JSSelectionSnapshot snapshot,
+            JSFunction<Object, Object> keyResolver) {
+    }
+
 }
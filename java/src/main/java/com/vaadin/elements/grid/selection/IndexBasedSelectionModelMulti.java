@@ -1,17 +1,16 @@
 package com.vaadin.elements.grid.selection;
 
-import com.google.gwt.query.client.GQuery;
-import com.google.gwt.user.client.ui.CheckBox;
 import com.vaadin.client.data.DataSource.RowHandle;
 import com.vaadin.client.renderers.Renderer;
-import com.vaadin.client.widget.grid.selection.MultiSelectionRenderer;
-import com.vaadin.client.widget.grid.selection.SelectionEvent;
 import com.vaadin.client.widget.grid.selection.SelectionModelMulti;
 import com.vaadin.client.widgets.Grid;
 import com.vaadin.elements.common.js.JS;
 import com.vaadin.elements.common.js.JSArray;
+import com.vaadin.elements.common.js.JSEnums;
 import com.vaadin.elements.common.js.JSFunction;
 import com.vaadin.elements.common.js.JSValidate;
+import com.vaadin.elements.grid.config.JSSelectionSnapshot;
+import com.vaadin.shared.ui.grid.Range;
 
 /**
  * An {@link IndexBasedSelectionModel} for multiple selection.
@@ -22,36 +21,53 @@ public class IndexBasedSelectionModelMulti extends SelectionModelMulti<Object>
     private Renderer<Boolean> renderer;
     private Grid<Object> grid;
 
-    private final JSArray<Double> indexes = JS.createArray();
+    // Row indexes which differ from the default state of the mode, i.e.
+    // selected rows in multi mode and deselected rows in all mode.
+    private final IndexRangeSet indexes = new IndexRangeSet();
     private boolean invertedSelection = false;
     private boolean dataSizeUpdated = false;
-    private int lastSelected = -1;
+
+    // Drag-select state: rows dragged over in the selection column are only
+    // painted until the drag ends and the whole span is committed at once.
+    private int dragAnchor = -1;
+    private boolean dragSelection;
+    private Range dragRange = Range.withLength(0, 0);
 
     @Override
     public void setGrid(Grid<Object> grid) {
         super.setGrid(grid);
         this.grid = grid;
-        renderer = new MultiSelectionRenderer<Object>(grid) {
-            @Override
-            public CheckBox createWidget() {
-                CheckBox checkBox = super.createWidget();
-                checkBox.setTabIndex(-1);
-                checkBox.addStyleName("vaadin-grid style-scope");
-                GQuery.$(checkBox).children()
-                        .addClass("vaadin-grid", "style-scope");
-                return checkBox;
-            }
+        renderer = new SelectionCheckBoxRenderer(this, grid);
+    }
 
-            @Override
-            protected void setSelected(int logicalRow, boolean select) {
-                // FIXME: Uncomment to enable drag-select
-                // if (lastSelected != logicalRow) {
-                if (lastSelected == -1) {
-                    super.setSelected(logicalRow, select);
-                    lastSelected = logicalRow;
-                }
-            }
-        };
+    /**
+     * Starts a drag selection from a row, which is selected or deselected
+     * right away so that a plain click is a single selection change.
+     */
+    void startDragSelect(int logicalRow, boolean select) {
+        dragAnchor = logicalRow;
+        dragSelection = select;
+        dragRange = Range.withOnly(logicalRow);
+        if (select) {
+            select(logicalRow, false);
+        } else {
+            deselect(logicalRow, false);
+        }
+    }
+
+    /**
+     * Extends the drag selection from its starting row to the given row.
+     */
+    void dragSelectTo(int logicalRow) {
+        if (dragAnchor == -1) {
+            return;
+        }
+        Range previous = dragRange;
+        dragRange = Range.between(Math.min(dragAnchor, logicalRow),
+                Math.max(dragAnchor, logicalRow) + 1);
+        // Repaint rows entering or leaving the span, only visible ones
+        // are actually touched by the escalator
+        SelectionUtil.refreshRows(grid, previous.combineWith(dragRange));
     }
 
     @Override
@@ -61,12 +77,58 @@ public class IndexBasedSelectionModelMulti extends SelectionModelMulti<Object>
 
     @Override
     public void startBatchSelect() {
-        lastSelected = -1;
+        if (dragAnchor != -1) {
+            commitBatchSelect();
+        }
     }
 
     @Override
     public void commitBatchSelect() {
-        lastSelected = -1;
+        if (dragAnchor != -1) {
+            Range range = dragRange;
+            dragAnchor = -1;
+            dragRange = Range.withLength(0, 0);
+            setSelected(range, dragSelection);
+        }
+    }
+
+    /**
+     * Selects or deselects a range of rows with a single range operation,
+     * firing one event per contiguous run of rows which actually changed.
+     */
+    private void setSelected(Range range, boolean select) {
+        if (dataSizeUpdated) {
+            range = range.restrictTo(Range.withLength(0, grid.getDataSource()
+                    .size()));
+        }
+
+        // In mode all the indexes hold the deselected rows
+        boolean add = select != invertedSelection;
+        IndexRangeSet existing = indexes.intersect(range);
+        IndexRangeSet changed = existing;
+        if (add) {
+            changed = new IndexRangeSet();
+            changed.add(range);
+            for (Range r : existing) {
+                changed.remove(r);
+            }
+            indexes.add(range);
+        } else {
+            indexes.remove(range);
+        }
+
+        if (changed.isEmpty()) {
+            return;
+        } else if (invertedSelection && size() == 0) {
+            clear();
+        } else if (!invertedSelection && isChecked()) {
+            selectAll();
+        } else {
+            for (Range r : changed) {
+                grid.fireEvent(new IndexBasedSelectionEvent(grid, select ? r
+                        : null, select ? null : r));
+            }
+        }
     }
 
     public boolean isIndeterminate() {
@@ -93,17 +155,18 @@ public class IndexBasedSelectionModelMulti extends SelectionModelMulti<Object>
 
     @Override
     public boolean isSelected(Object row) {
-        return invertedSelection ? indexes.indexOf((double) SelectionUtil
-                .getRowIndexByRow(grid, row)) == -1
-                : indexes.indexOf((double) SelectionUtil.getRowIndexByRow(grid,
-                        row)) != -1;
+        int index = SelectionUtil.getRowIndexByRow(grid, row);
+        if (dragAnchor != -1 && dragRange.contains(index)) {
+            return dragSelection;
+        }
+        return invertedSelection != indexes.contains(index);
     }
 
     @Override
     public void reset() {
-        indexes.setLength(0);
+        indexes.clear();
 
-        grid.fireEvent(new SelectionEvent<Object>(grid, null, null, true));
+        grid.fireEvent(IndexBasedSelectionEvent.reset(grid));
     }
 
     @Override
@@ -111,8 +174,10 @@ public class IndexBasedSelectionModelMulti extends SelectionModelMulti<Object>
             Integer from, Integer to) {
         return invertedSelection ?
         //
-        fillSelectionArrayInverted(mapper, from, to)
-                : fillSelectionArray(mapper, from, to);
+        fillSelectionArray(
+                indexes.complement(grid.getDataSource().size()), mapper,
+                from, to)
+                : fillSelectionArray(indexes, mapper, from, to);
     }
 
     @Override
@@ -120,61 +185,37 @@ public class IndexBasedSelectionModelMulti extends SelectionModelMulti<Object>
             Integer from, Integer to) {
         return invertedSelection ?
         //
-        fillSelectionArray(mapper, from, to)
+        fillSelectionArray(indexes, mapper, from, to)
                 : JS.createArray();
     }
 
-    private JSArray<Object> fillSelectionArray(
+    private JSArray<Object> fillSelectionArray(IndexRangeSet ranges,
             JSFunction<Object, Integer> mapper, Integer from, Integer to) {
         JSArray<Object> result = JS.createArray();
 
         int fromIndex = JSValidate.Integer.val(from, 0, 0);
-        fromIndex = Math.min(fromIndex, indexes.length() - 1);
-        int defaultTo = indexes.length() - 1;
+        int defaultTo = ranges.size() - 1;
         int toIndex = JSValidate.Integer.val(to, defaultTo, defaultTo);
-        toIndex = Math.min(toIndex, indexes.length() - 1);
-
-        for (int i = fromIndex; i <= toIndex; i++) {
-            Double value = indexes.get(i);
-            if (value != null) {
-                Object mappedValue = mapper == null ? value : mapper.f(value.intValue());
+        toIndex = Math.min(toIndex, defaultTo);
+
+        // Position of the first index of the current range in the sorted
+        // sequence of indexes
+        int position = 0;
+        for (Range range : ranges) {
+            if (position > toIndex) {
+                break;
+            }
+            int first = Math.max(fromIndex - position, 0);
+            int last = Math.min(toIndex - position, range.length() - 1);
+            for (int i = first; i <= last; i++) {
+                int index = range.getStart() + i;
+                Object mappedValue = mapper == null ? (double) index : mapper
+                        .f(index);
                 if (mappedValue != null) {
                     result.add(mappedValue);
                 }
             }
-        }
-        return result;
-    }
-
-    private JSArray<Object> fillSelectionArrayInverted(JSFunction<Object, Integer> mapper,
-            Integer from, Integer to) {
-
-        JSArray<Object> result = JS.createArray();
-
-        int size = size();
-
-        int fromIndex = JSValidate.Integer.val(from, 0, 0);
-        fromIndex = Math.min(Math.max(fromIndex, 0), size - 1);
-        int defaultTo = size() - 1;
-        int toIndex = JSValidate.Integer.val(to, defaultTo, defaultTo);
-        toIndex = Math.min(Math.max(toIndex, 0), size - 1);
-
-        int count = toIndex - fromIndex + 1;
-
-        int index = 0;
-        int selectedIndexCount = 0;
-        int addedSelectedIndexCount = 0;
-        while (addedSelectedIndexCount < count) {
-            if (indexes.indexOf((double) index) == -1) {
-                if (selectedIndexCount++ >= fromIndex) {
-                    addedSelectedIndexCount++;
-                    Object mappedValue = mapper == null ? index : mapper.f(index);
-                    if (mappedValue != null) {
-                        result.add(mappedValue);
-                    }
-                }
-            }
-            index++;
+            position += range.length();
         }
         return result;
     }
@@ -182,7 +223,7 @@ public class IndexBasedSelectionModelMulti extends SelectionModelMulti<Object>
     @Override
     public int size() {
         return invertedSelection ? grid.getDataSource().size()
-                - indexes.length() : indexes.length();
+                - indexes.size() : indexes.size();
     }
 
     @Override
@@ -207,13 +248,12 @@ public class IndexBasedSelectionModelMulti extends SelectionModelMulti<Object>
     private boolean addIndex(int index, boolean skipOwnEvents) {
         if (index >= 0
                 && (!dataSizeUpdated || index < grid.getDataSource().size())
-                && indexes.indexOf((double) index) == -1) {
-            indexes.add((double) index);
+                && !indexes.contains(index)) {
+            indexes.add(Range.withOnly(index));
 
             skipOwnEvents = JSValidate.Boolean.val(skipOwnEvents, false, false);
             if (!skipOwnEvents) {
-                grid.fireEvent(new SelectionEvent<Object>(grid, null, null,
-                        false));
+                fireSelectionEvent(index, !invertedSelection);
             }
             if (invertedSelection && size() == 0) {
                 clear();
@@ -229,18 +269,23 @@ public class IndexBasedSelectionModelMulti extends SelectionModelMulti<Object>
     }
 
     private boolean removeIndex(int index, boolean skipOwnEvents) {
-        if (indexes.indexOf((double) index) != -1) {
-            indexes.remove((double) index);
+        if (indexes.contains(index)) {
+            indexes.remove(Range.withOnly(index));
             skipOwnEvents = JSValidate.Boolean.val(skipOwnEvents, false, false);
             if (!skipOwnEvents) {
-                grid.fireEvent(new SelectionEvent<Object>(grid, null, null,
-                        false));
+                fireSelectionEvent(index, invertedSelection);
             }
             return true;
         }
         return false;
     }
 
+    private void fireSelectionEvent(int index, boolean selected) {
+        Range range = Range.withOnly(index);
+        grid.fireEvent(new IndexBasedSelectionEvent(grid, selected ? range
+                : null, selected ? null : range));
+    }
+
     @Override
     public void clear() {
         deselectAll();
@@ -281,15 +326,10 @@ public class IndexBasedSelectionModelMulti extends SelectionModelMulti<Object>
     public void dataSizeUpdated(int newSize) {
         dataSizeUpdated = true;
         // If row indexes contain values that are out of bounds, remove them.
-        boolean changed = false;
-        for (int i = 0; i < indexes.length(); i++) {
-            if (indexes.get(i) >= newSize) {
-                indexes.remove(indexes.get(i--));
-                changed = true;
-            }
-        }
-        if (changed) {
-            grid.fireEvent(new SelectionEvent<Object>(grid, null, null, true));
+        int size = indexes.size();
+        indexes.remove(Range.between(Math.max(newSize, 0), Integer.MAX_VALUE));
+        if (indexes.size() != size) {
+            grid.fireEvent(IndexBasedSelectionEvent.reset(grid));
         }
     }
 
@@ -298,4 +338,31 @@ public class IndexBasedSelectionModelMulti extends SelectionModelMulti<Object>
         return mode == IndexBasedSelectionMode.ALL
                 || mode == IndexBasedSelectionMode.MULTI;
     }
+
+    @Override
+    public JSSelectionSnapshot exportSelection(
+            JSFunction<Object, Integer> keyMapper) {
+        // In mode all the ranges hold the deselected rows
+        return SelectionUtil.createSnapshot(getMode(), indexes, keyMapper);
+    }
+
+    @Override
+    public void importSelection(JSSelectionSnapshot snapshot,
+            JSFunction<Object, Object> keyResolver) {
+        IndexBasedSelectionMode mode = JSEnums.Selection.val(snapshot
+                .getMode());
+        if (supportsMode(mode)) {
+            setMode(mode);
+        }
+        indexes.clear();
+        for (Range range : SelectionUtil.decodeRanges(snapshot,
+                keyResolver)) {
+            indexes.add(range);
+        }
+        if (dataSizeUpdated) {
+            indexes.remove(Range.between(grid.getDataSource().size(),
+                    Integer.MAX_VALUE));
+        }
+        grid.fireEvent(IndexBasedSelectionEvent.reset(grid));
+    }
 }
@@ -1,12 +1,16 @@
 package com.vaadin.elements.grid.selection;
 
-import com.vaadin.client.widget.grid.selection.SelectionEvent;
+import java.util.Collections;
+import java.util.Iterator;
+
 import com.vaadin.client.widget.grid.selection.SelectionModelSingle;
 import com.vaadin.client.widgets.Grid;
 import com.vaadin.elements.common.js.JS;
 import com.vaadin.elements.common.js.JSArray;
 import com.vaadin.elements.common.js.JSFunction;
 import com.vaadin.elements.common.js.JSValidate;
+import com.vaadin.elements.grid.config.JSSelectionSnapshot;
+import com.vaadin.shared.ui.grid.Range;
 
 /**
  * An {@link IndexBasedSelectionModel} for single selection.
@@ -42,7 +46,7 @@ public class IndexBasedSelectionModelSingle extends
     @Override
     public void reset() {
         selectedRow = -1;
-        grid.fireEvent(new SelectionEvent<Object>(grid, null, null, false));
+        grid.fireEvent(IndexBasedSelectionEvent.reset(grid));
     }
 
     @Override
@@ -74,11 +78,14 @@ public class IndexBasedSelectionModelSingle extends
     public boolean select(int index, boolean skipOwnEvents) {
         if (index >= 0
                 && (!dataSizeUpdated || index < grid.getDataSource().size())) {
+            int previousRow = selectedRow;
             selectedRow = index;
             skipOwnEvents = JSValidate.Boolean.val(skipOwnEvents, false, false);
             if (!skipOwnEvents) {
-                grid.fireEvent(new SelectionEvent<Object>(grid, null, null,
-                        false));
+                grid.fireEvent(new IndexBasedSelectionEvent(grid, Range
+                        .withOnly(index), previousRow != -1
+                        && previousRow != index ? Range.withOnly(previousRow)
+                        : null));
             }
             return true;
         }
@@ -91,8 +98,8 @@ public class IndexBasedSelectionModelSingle extends
             selectedRow = -1;
             skipOwnEvents = JSValidate.Boolean.val(skipOwnEvents, false, false);
             if (!skipOwnEvents) {
-                grid.fireEvent(new SelectionEvent<Object>(grid, null, null,
-                        false));
+                grid.fireEvent(new IndexBasedSelectionEvent(grid, null, Range
+                        .withOnly(index)));
             }
             return true;
         }
@@ -130,4 +137,24 @@ public class IndexBasedSelectionModelSingle extends
         return mode == IndexBasedSelectionMode.SINGLE;
     }
 
+    @Override
+    public JSSelectionSnapshot exportSelection(
+            JSFunction<Object, Integer> keyMapper) {
+        return SelectionUtil.createSnapshot(getMode(),
+                selectedRow == -1 ? Collections.<Range> emptyList()
+                        : Collections.singletonList(Range.withOnly(selectedRow)),
+                keyMapper);
+    }
+
+    @Override
+    public void importSelection(JSSelectionSnapshot snapshot,
+            JSFunction<Object, Object> keyResolver) {
+        Iterator<Range> ranges = SelectionUtil.decodeRanges(snapshot,
+                keyResolver).iterator();
+        int row = ranges.hasNext() ? ranges.next().getStart() : -1;
+        selectedRow = dataSizeUpdated
+                && row >= grid.getDataSource().size() ? -1 : row;
+        grid.fireEvent(IndexBasedSelectionEvent.reset(grid));
+    }
+
 }
@@ -0,0 +1,141 @@
+package com.vaadin.elements.grid.selection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import com.vaadin.shared.ui.grid.Range;
+
+/**
+ * A set of row indexes stored as sorted, disjoint and non-adjacent ranges.
+ * Adding or removing a range costs O(number of ranges) regardless of how many
+ * indexes the range covers.
+ */
+public class IndexRangeSet implements Iterable<Range> {
+
+    private final List<Range> ranges = new ArrayList<>();
+    private int size = 0;
+
+    public void add(Range range) {
+        if (range.isEmpty()) {
+            return;
+        }
+        int start = range.getStart();
+        int end = range.getEnd();
+
+        // Adjacent ranges are merged too, hence start - 1
+        int first = indexOfFirstEndingAfter(start - 1);
+        int last = first;
+        while (last < ranges.size() && ranges.get(last).getStart() <= end) {
+            start = Math.min(start, ranges.get(last).getStart());
+            end = Math.max(end, ranges.get(last).getEnd());
+            size -= ranges.get(last).length();
+            last++;
+        }
+        ranges.subList(first, last).clear();
+        ranges.add(first, Range.between(start, end));
+        size += end - start;
+    }
+
+    public void remove(Range range) {
+        if (range.isEmpty()) {
+            return;
+        }
+        int first = indexOfFirstEndingAfter(range.getStart());
+        int last = first;
+        List<Range> kept = new ArrayList<>(2);
+        while (last < ranges.size()
+                && ranges.get(last).getStart() < range.getEnd()) {
+            Range[] parts = ranges.get(last).partitionWith(range);
+            size -= parts[1].length();
+            if (!parts[0].isEmpty()) {
+                kept.add(parts[0]);
+            }
+            if (!parts[2].isEmpty()) {
+                kept.add(parts[2]);
+            }
+            last++;
+        }
+        ranges.subList(first, last).clear();
+        ranges.addAll(first, kept);
+    }
+
+    /**
+     * Returns the part of this set which overlaps the given range.
+     */
+    public IndexRangeSet intersect(Range range) {
+        IndexRangeSet result = new IndexRangeSet();
+        for (int i = indexOfFirstEndingAfter(range.getStart()); i < ranges
+                .size() && ranges.get(i).getStart() < range.getEnd(); i++) {
+            Range overlap = ranges.get(i).restrictTo(range);
+            result.ranges.add(overlap);
+            result.size += overlap.length();
+        }
+        return result;
+    }
+
+    /**
+     * Returns the indexes between 0 and the given size which are not in this
+     * set.
+     */
+    public IndexRangeSet complement(int size) {
+        IndexRangeSet result = new IndexRangeSet();
+        int start = 0;
+        for (Range range : ranges) {
+            if (range.getStart() >= size) {
+                break;
+            }
+            result.add(Range.between(start, range.getStart()));
+            start = range.getEnd();
+        }
+        if (start < size) {
+            result.add(Range.between(start, size));
+        }
+        return result;
+    }
+
+    public boolean contains(int index) {
+        int i = indexOfFirstEndingAfter(index);
+        return i < ranges.size() && ranges.get(i).contains(index);
+    }
+
+    /**
+     * Returns the number of indexes in this set.
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return ranges.isEmpty();
+    }
+
+    public void clear() {
+        ranges.clear();
+        size = 0;
+    }
+
+    @Override
+    public Iterator<Range> iterator() {
+        return Collections.unmodifiableList(ranges).iterator();
+    }
+
+    /**
+     * Binary search for the first range whose exclusive end is greater than
+     * the given index.
+     */
+    private int indexOfFirstEndingAfter(int index) {
+        int low = 0;
+        int high = ranges.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ranges.get(mid).getEnd() > index) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,266 @@
+package com.vaadin.elements.grid.selection;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import com.google.gwt.animation.client.AnimationScheduler;
+import com.google.gwt.animation.client.AnimationScheduler.AnimationHandle;
+import com.google.gwt.dom.client.BrowserEvents;
+import com.google.gwt.dom.client.Element;
+import com.google.gwt.dom.client.InputElement;
+import com.google.gwt.dom.client.NativeEvent;
+import com.google.gwt.event.shared.HandlerRegistration;
+import com.google.gwt.user.client.DOM;
+import com.google.gwt.user.client.Event;
+import com.google.gwt.user.client.Event.NativePreviewEvent;
+import com.google.gwt.user.client.Timer;
+import com.vaadin.client.renderers.ComplexRenderer;
+import com.vaadin.client.widget.grid.CellReference;
+import com.vaadin.client.widget.grid.RendererCellReference;
+import com.vaadin.client.widgets.Grid;
+
+/**
+ * Renderer for the multi selection column. Instead of a CheckBox widget per
+ * row, a plain input is created once per escalator cell, so it's recycled
+ * along with the cell while scrolling, and events are handled through the
+ * grid's event delegation.
+ *
+ * Dragging over the column selects a range of rows, scrolling the body when
+ * the pointer is above or below it.
+ */
+class SelectionCheckBoxRenderer extends ComplexRenderer<Boolean> {
+
+    private static final String CLASS_NAMES = "vaadin-grid style-scope";
+
+    // Max auto-scroll speed in pixels per frame
+    private static final double MAX_SCROLL_STEP = 40;
+
+    // How long a touch is held still before it starts a drag
+    private static final int TOUCH_DRAG_DELAY = 300;
+
+    private final IndexBasedSelectionModelMulti model;
+    private final Grid<Object> grid;
+
+    private HandlerRegistration dragHandler;
+    private AnimationHandle scrollFrame;
+    private Timer touchDragTimer;
+    private double pointerY;
+    private double bodyTop;
+    private double bodyBottom;
+
+    SelectionCheckBoxRenderer(IndexBasedSelectionModelMulti model,
+            Grid<Object> grid) {
+        this.model = model;
+        this.grid = grid;
+    }
+
+    @Override
+    public void init(RendererCellReference cell) {
+        Element wrapper = DOM.createSpan();
+        wrapper.setClassName(CLASS_NAMES);
+
+        InputElement input = DOM.createInputCheck().cast();
+        input.setTabIndex(-1);
+        input.setClassName(CLASS_NAMES);
+        wrapper.appendChild(input);
+
+        Element label = DOM.createLabel();
+        label.setClassName(CLASS_NAMES);
+        wrapper.appendChild(label);
+
+        cell.getElement().removeAllChildren();
+        cell.getElement().appendChild(wrapper);
+    }
+
+    @Override
+    public void render(RendererCellReference cell, Boolean selected) {
+        InputElement input = getInput(cell.getElement());
+        if (input.isChecked() != selected) {
+            input.setChecked(selected);
+        }
+    }
+
+    @Override
+    public Collection<String> getConsumedEvents() {
+        return Arrays.asList(BrowserEvents.MOUSEDOWN,
+                BrowserEvents.TOUCHSTART, BrowserEvents.CLICK);
+    }
+
+    @Override
+    public boolean onBrowserEvent(CellReference<?> cell, NativeEvent event) {
+        Element wrapper = cell.getElement().getFirstChildElement();
+        if (!Element.is(event.getEventTarget()) || wrapper == null
+                || !wrapper.isOrHasChild(Element.as(event.getEventTarget()))) {
+            return false;
+        }
+        boolean select = !getInput(cell.getElement()).isChecked();
+        if (BrowserEvents.TOUCHSTART.equals(event.getType())) {
+            // Not prevented, so that the touch can still scroll the body
+            startTouch(cell.getRowIndex(), select, getClientY(event));
+        } else {
+            // Selection is changed on mousedown, the native toggle on click
+            // would revert it
+            event.preventDefault();
+            if (BrowserEvents.MOUSEDOWN.equals(event.getType())) {
+                startDrag(cell.getRowIndex(), select, getClientY(event));
+            }
+        }
+        return true;
+    }
+
+    private void startDrag(int logicalRow, boolean select, double clientY) {
+        stopDrag();
+        model.startBatchSelect();
+        model.startDragSelect(logicalRow, select);
+        startTracking(clientY);
+    }
+
+    /**
+     * A touch only starts a drag once it has been held still for a while. A
+     * touch moving before that is left to scroll the body, and one ending
+     * before that is a tap on the checkbox.
+     */
+    private void startTouch(int logicalRow, boolean select, double clientY) {
+        stopDrag();
+        touchDragTimer = new Timer() {
+            @Override
+            public void run() {
+                touchDragTimer = null;
+                model.startBatchSelect();
+                model.startDragSelect(logicalRow, select);
+            }
+        };
+        touchDragTimer.schedule(TOUCH_DRAG_DELAY);
+        startTracking(clientY);
+    }
+
+    private void startTracking(double clientY) {
+        pointerY = clientY;
+        dragHandler = Event.addNativePreviewHandler(this::onPreviewEvent);
+    }
+
+    private void stopDrag() {
+        if (dragHandler != null) {
+            dragHandler.removeHandler();
+            dragHandler = null;
+        }
+        if (touchDragTimer != null) {
+            touchDragTimer.cancel();
+            touchDragTimer = null;
+        }
+        if (scrollFrame != null) {
+            scrollFrame.cancel();
+            scrollFrame = null;
+        }
+    }
+
+    private void onPreviewEvent(NativePreviewEvent preview) {
+        NativeEvent event = preview.getNativeEvent();
+        switch (preview.getTypeInt()) {
+        case Event.ONTOUCHMOVE:
+            if (touchDragTimer != null) {
+                // Moved before the drag started, let the body scroll
+                stopDrag();
+                break;
+            }
+            event.preventDefault();
+            onPointerMove(getClientY(event));
+            break;
+        case Event.ONMOUSEMOVE:
+            onPointerMove(getClientY(event));
+            break;
+        case Event.ONTOUCHEND:
+            if (touchDragTimer != null) {
+                // A tap, the emulated mouse events would toggle it again
+                event.preventDefault();
+                Timer timer = touchDragTimer;
+                touchDragTimer = null;
+                timer.run();
+            }
+            stopDrag();
+            model.commitBatchSelect();
+            break;
+        case Event.ONMOUSEUP:
+        case Event.ONTOUCHCANCEL:
+            stopDrag();
+            model.commitBatchSelect();
+            break;
+        default:
+            break;
+        }
+    }
+
+    private void onPointerMove(double clientY) {
+        pointerY = clientY;
+        measureBody();
+        dragTo(pointerY);
+        if (scrollFrame == null && getScrollStep() != 0) {
+            scrollFrame = AnimationScheduler.get().requestAnimationFrame(
+                    timestamp -> autoScroll());
+        }
+    }
+
+    private void autoScroll() {
+        scrollFrame = null;
+        measureBody();
+        double step = getScrollStep();
+        if (step != 0 && dragHandler != null) {
+            grid.setScrollTop(grid.getScrollTop() + step);
+            dragTo(pointerY);
+            scrollFrame = AnimationScheduler.get().requestAnimationFrame(
+                    timestamp -> autoScroll());
+        }
+    }
+
+    /**
+     * Measures the client position of the body between the header and the
+     * footer. The page may scroll during the drag, so this is done on every
+     * pointer move and auto-scroll frame, before anything is changed.
+     */
+    private void measureBody() {
+        bodyTop = getRect(SelectionUtil.getEscalator(grid).getHeader()
+                .getElement(), "bottom");
+        bodyBottom = getRect(SelectionUtil.getEscalator(grid).getFooter()
+                .getElement(), "top");
+    }
+
+    /**
+     * Returns how much to scroll the body in this frame, based on how far the
+     * pointer is above or below it.
+     */
+    private double getScrollStep() {
+        double step = pointerY < bodyTop ? pointerY - bodyTop
+                : pointerY > bodyBottom ? pointerY - bodyBottom : 0;
+        return Math.max(-MAX_SCROLL_STEP, Math.min(MAX_SCROLL_STEP, step));
+    }
+
+    /**
+     * Extends the drag to the row at the given position. The row is
+     * calculated from the scroll position instead of measuring the rows, so
+     * that a pointer move doesn't force a layout right after the previous
+     * one repainted rows.
+     */
+    private void dragTo(double clientY) {
+        double y = Math.min(clientY, bodyBottom - 1) - bodyTop;
+        int row = SelectionUtil.getEscalator(grid).getBodyRowIndexAt(y);
+        if (row != -1) {
+            model.dragSelectTo(row);
+        }
+    }
+
+    private static InputElement getInput(Element cellElement) {
+        return cellElement.getFirstChildElement().getFirstChildElement()
+                .cast();
+    }
+
+    private static double getClientY(NativeEvent event) {
+        return event.getTouches() != null && event.getTouches().length() > 0 ? event
+                .getTouches().get(0).getClientY()
+                : event.getClientY();
+    }
+
+    private static native double getRect(Element element, String side)
+    /*-{
+        return element.getBoundingClientRect()[side];
+    }-*/;
+}
@@ -0,0 +1,82 @@
+package com.vaadin.elements.grid.selection;
+
+import com.vaadin.elements.common.js.JS;
+import com.vaadin.elements.common.js.JSArray;
+import com.vaadin.elements.grid.config.JSIndexRange;
+import com.vaadin.elements.grid.config.JSSelectionChange;
+import com.vaadin.shared.ui.grid.Range;
+
+/**
+ * Accumulates the net selection change of several
+ * {@link IndexBasedSelectionEvent}s, so that they can be reported to JS as a
+ * single event.
+ */
+public class SelectionDelta {
+
+    private final IndexRangeSet added = new IndexRangeSet();
+    private final IndexRangeSet removed = new IndexRangeSet();
+    private boolean reset = false;
+
+    public void merge(IndexBasedSelectionEvent event) {
+        if (event.isReset()) {
+            reset();
+        } else if (!reset) {
+            if (event.getDeselected() != null) {
+                apply(event.getDeselected(), removed, added);
+            }
+            if (event.getSelected() != null) {
+                apply(event.getSelected(), added, removed);
+            }
+        }
+    }
+
+    /**
+     * Marks the delta as a reset, i.e. listeners need to re-read the whole
+     * selection.
+     */
+    public void reset() {
+        reset = true;
+        added.clear();
+        removed.clear();
+    }
+
+    private void apply(Range range, IndexRangeSet target,
+            IndexRangeSet opposite) {
+        // Changes reverted within the same batch cancel each other out
+        IndexRangeSet reverted = opposite.intersect(range);
+        opposite.remove(range);
+        target.add(range);
+        for (Range r : reverted) {
+            target.remove(r);
+        }
+    }
+
+    public boolean isEmpty() {
+        return !reset && added.isEmpty() && removed.isEmpty();
+    }
+
+    public void clear() {
+        reset = false;
+        added.clear();
+        removed.clear();
+    }
+
+    public JSSelectionChange toJs() {
+        JSSelectionChange change = JS.createJsObject();
+        change.setAdded(toJs(added));
+        change.setRemoved(toJs(removed));
+        change.setReset(reset);
+        return change;
+    }
+
+    private static JSArray<JSIndexRange> toJs(IndexRangeSet ranges) {
+        JSArray<JSIndexRange> result = JS.createArray();
+        for (Range range : ranges) {
+            JSIndexRange jsRange = JS.createJsObject();
+            jsRange.setIndex(range.getStart());
+            jsRange.setCount(range.length());
+            result.add(jsRange);
+        }
+        return result;
+    }
+}
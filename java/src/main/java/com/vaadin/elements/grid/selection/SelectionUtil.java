@@ -1,9 +1,17 @@
 package com.vaadin.elements.grid.selection;
 
 import com.vaadin.client.data.DataSource.RowHandle;
+import com.vaadin.client.widgets.Escalator;
 import com.vaadin.client.widgets.Grid;
+import com.vaadin.elements.common.js.JS;
+import com.vaadin.elements.common.js.JSArray;
+import com.vaadin.elements.common.js.JSEnums;
 import com.vaadin.elements.common.js.JSFunction;
+import com.vaadin.elements.common.js.JSValidate;
+import com.vaadin.elements.grid.ViolatedGrid;
+import com.vaadin.elements.grid.config.JSSelectionSnapshot;
 import com.vaadin.elements.grid.data.GridDataSource;
+import com.vaadin.shared.ui.grid.Range;
 
 public final class SelectionUtil {
 
@@ -20,4 +28,73 @@ public final class SelectionUtil {
     static int getRowIndexByRow(Grid<Object> grid, Object row) {
         return ((GridDataSource) grid.getDataSource()).indexOf(row);
     }
+
+    static JSSelectionSnapshot createSnapshot(IndexBasedSelectionMode mode,
+            Iterable<Range> ranges, JSFunction<Object, Integer> keyMapper) {
+        JSSelectionSnapshot snapshot = JS.createJsObject();
+        snapshot.setMode(JSEnums.Selection.val(mode));
+
+        JSArray<Double> encoded = JS.createArray();
+        JSArray<Object> keys = JS.createArray();
+        for (Range range : ranges) {
+            encoded.add((double) range.getStart());
+            encoded.add((double) range.length());
+            if (keyMapper != null) {
+                for (int i = range.getStart(); i < range.getEnd(); i++) {
+                    Object key = keyMapper.f(i);
+                    if (key != null) {
+                        keys.add(key);
+                    }
+                }
+            }
+        }
+        snapshot.setRanges(encoded);
+        if (keyMapper != null) {
+            snapshot.setKeys(keys);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Decodes the rows of a snapshot. If a key resolver is given and the
+     * snapshot has keys, the rows are resolved from the keys instead of the
+     * ranges, so that the selection follows the items even if their indexes
+     * have changed since the snapshot was taken.
+     */
+    static IndexRangeSet decodeRanges(JSSelectionSnapshot snapshot,
+            JSFunction<Object, Object> keyResolver) {
+        IndexRangeSet result = new IndexRangeSet();
+        JSArray<Object> keys = snapshot.getKeys();
+        if (keyResolver != null && !JS.isUndefinedOrNull(keys)) {
+            for (int i = 0; i < keys.size(); i++) {
+                int row = JSValidate.Integer.val(keyResolver.f(keys.get(i)),
+                        -1, -1);
+                if (row >= 0) {
+                    result.add(Range.withOnly(row));
+                }
+            }
+            return result;
+        }
+
+        JSArray<Double> encoded = snapshot.getRanges();
+        if (!JS.isUndefinedOrNull(encoded)) {
+            for (int i = 0; i + 1 < encoded.size(); i += 2) {
+                int start = JSValidate.Integer.val(encoded.get(i), 0, 0);
+                int count = JSValidate.Integer.val(encoded.get(i + 1), 0, 0);
+                if (start >= 0 && count > 0) {
+                    result.add(Range.withLength(start, count));
+                }
+            }
+        }
+        return result;
+    }
+
+    static Escalator getEscalator(Grid<Object> grid) {
+        return ((ViolatedGrid) grid).getEscalator();
+    }
+
+    static void refreshRows(Grid<Object> grid, Range range) {
+        getEscalator(grid).getBody().refreshRows(range.getStart(),
+                range.length());
+    }
 }
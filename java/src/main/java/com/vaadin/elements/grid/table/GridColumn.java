@@ -1,16 +1,14 @@
 package com.vaadin.elements.grid.table;
 
-import java.util.Arrays;
-import java.util.List;
-
 import com.google.gwt.core.client.JavaScriptObject;
 import com.google.gwt.core.client.Scheduler;
 import com.google.gwt.dom.client.Element;
+import com.google.gwt.dom.client.Node;
 import com.google.gwt.dom.client.Style.Overflow;
 import com.google.gwt.dom.client.Style.TextOverflow;
 import com.google.gwt.query.client.js.JsUtils;
 import com.google.gwt.user.client.DOM;
-import com.google.gwt.user.client.ui.HTML;
+import com.vaadin.client.renderers.Renderer;
 import com.vaadin.client.widgets.Grid.Column;
 import com.vaadin.elements.common.js.JS;
 import com.vaadin.elements.common.js.JSArray;
@@ -24,6 +22,17 @@ public final class GridColumn extends Column<Object, Object> {
 
     private final JSColumn jsColumn;
     private final GridElement gridElement;
+    private final Renderer<Object> defaultRenderer;
+
+    // The column name split into property names, compiled when the name is
+    // set so that cell values can be read without allocating anything
+    private String[] propertyPath;
+    // Position of the column configuration in the columns array, updated by
+    // GridElement.setColumns
+    private int columnIndex = -1;
+
+    // Expando holding the content rendered by the default renderer
+    private static final String CONTENT = "renderedcontent";
 
     /**
      * Create a new GridColumn associated with a JSColumn configuration.
@@ -44,14 +53,22 @@ public final class GridColumn extends Column<Object, Object> {
         this.jsColumn = jsColumn;
         this.gridElement = gridElement;
 
-        // Default renderer
-        setRenderer((cell, data) -> {
+        defaultRenderer = (cell, data) -> {
             Element element = cell.getElement();
             String content = JS.isUndefinedOrNull(data) ? "" : data.toString();
 
+            // Cell contents of a DOM table are serialized HTML, so any '<'
+            // starts a tag or a comment
             if (gridElement.getDataSource() instanceof GridDomTableDataSource
-                    && new HTML(content).getElement().getFirstChildElement() != null) {
-                element.setInnerHTML(content);
+                    && content.indexOf('<') != -1) {
+                Node first = element.getFirstChild();
+                if (first == null
+                        || !content.equals(JsUtils.prop(first, CONTENT))) {
+                    element.setInnerHTML(content);
+                    if (element.getFirstChild() != null) {
+                        JsUtils.prop(element.getFirstChild(), CONTENT, content);
+                    }
+                }
             } else {
                 Element wrapper = element.getFirstChildElement();
                 if (wrapper == null || !wrapper.getPropertyBoolean("iswrapper")) {
@@ -63,9 +80,23 @@ public final class GridColumn extends Column<Object, Object> {
                     element.removeAllChildren();
                     element.appendChild(wrapper);
                 }
-                wrapper.setInnerText(content);
+                // Escalator cells are reused while scrolling, often for the
+                // same value
+                if (!content.equals(wrapper.getPropertyString(CONTENT))) {
+                    wrapper.setInnerText(content);
+                    wrapper.setPropertyString(CONTENT, content);
+                }
             }
-        });
+        };
+        setRenderer(defaultRenderer);
+    }
+
+    /**
+     * Sets the renderer back to the default one, which renders the cell
+     * values as text.
+     */
+    public void setDefaultRenderer() {
+        setRenderer(defaultRenderer);
     }
 
     public JSStaticCell getDefaultHeaderCellReference() {
@@ -75,6 +106,8 @@ public final class GridColumn extends Column<Object, Object> {
     }
 
     public void nameChanged(String name) {
+        propertyPath = name == null ? null : name.split("\\.");
+
         // Need to invoke the logic that determines whether default header cell
         // should show content or name. Invocation must be deferred because
         // the logic happens synchronously and the actual name property hasn't
@@ -102,26 +135,32 @@ public final class GridColumn extends Column<Object, Object> {
             if (JsUtils.isArray((JavaScriptObject) dataItem)) {
                 result = ((JSArray<Object>) dataItem).get(getColumnIndex());
             } else {
-                result = getNestedProperty(dataItem,
-                        Arrays.asList(jsColumn.getName().split("\\.")));
+                result = propertyPath == null ? null : getNestedProperty(
+                        dataItem, propertyPath);
             }
         }
         return result;
     }
 
-    private Object getNestedProperty(Object o, List<String> props) {
-        Object result = null;
-        if (props.isEmpty()) {
-            result = o;
-        } else if (JS.isObject(o)) {
-            result = getNestedProperty(
-                    JsUtils.prop((JavaScriptObject) o, props.get(0)),
-                    props.subList(1, props.size()));
+    /**
+     * Returns the value of the given property path in the object, or null if
+     * any of the intermediate values is not an object.
+     */
+    static Object getNestedProperty(Object o, String[] path) {
+        for (String property : path) {
+            if (!JS.isObject(o)) {
+                return null;
+            }
+            o = JsUtils.prop((JavaScriptObject) o, property);
         }
-        return result;
+        return o;
+    }
+
+    public int getColumnIndex() {
+        return columnIndex;
     }
 
-    private int getColumnIndex() {
-        return gridElement.getColumns().indexOf(jsColumn);
+    public void setColumnIndex(int columnIndex) {
+        this.columnIndex = columnIndex;
     }
 }
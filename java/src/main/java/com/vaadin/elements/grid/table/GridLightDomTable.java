@@ -2,6 +2,7 @@ package com.vaadin.elements.grid.table;
 
 import static com.google.gwt.query.client.GQuery.$;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import com.google.gwt.core.client.Scheduler;
@@ -35,6 +36,7 @@ public class GridLightDomTable implements MutationListener {
     private GQuery $head_tr;
     private GQuery $foot_tr;
     private GQuery $cols;
+    private GQuery $template_tr;
     private final Grid<Object> grid;
     private final GridElement gridElement;
     private int defaultHeaderRow, numberHeaderRows, numberColumns,
@@ -57,7 +59,9 @@ public class GridLightDomTable implements MutationListener {
         $thead = $light.find("thead");
         $tfoot = $light.find("tfoot");
         $cols = $light.find("colgroup");
-        String txt = $thead.toString() + $cols.toString() + $tfoot.toString();
+        $template_tr = $light.find("tbody tr[template]");
+        String txt = $thead.toString() + $cols.toString() + $tfoot.toString()
+                + $template_tr.toString();
         if (!txt.equals(lastConfigString)) {
             lastConfigString = txt;
 
@@ -163,6 +167,7 @@ public class GridLightDomTable implements MutationListener {
                     "hiding-toggle-text", null, null));
         }
         gridElement.setColumns(jsColumns);
+        configureTemplates(jsColumns);
 
         if (!sortOrders.isEmpty()) {
             gridElement.then(o -> {
@@ -172,16 +177,38 @@ public class GridLightDomTable implements MutationListener {
         }
     }
 
+    /**
+     * Uses the cells of the tbody row with the template attribute, if any,
+     * as templates for the cells of the corresponding columns. A cell may
+     * wrap its content in a template element to keep it inert. Columns
+     * without a template cell get their default renderer back.
+     */
+    private void configureTemplates(JSArray<JSColumn> jsColumns) {
+        GQuery $tds = $template_tr.eq(0).children("td");
+        for (int i = 0; i < jsColumns.size(); i++) {
+            if (i < $tds.size()) {
+                GQuery $template = $tds.eq(i).children("template");
+                jsColumns.get(i).setTemplate(
+                        $template.isEmpty() ? $tds.get(i) : $template.get(0));
+            } else {
+                jsColumns.get(i).setTemplate(null);
+            }
+        }
+    }
+
     private void configureHeadersFooters(final boolean isHeader) {
         int n = isHeader ? grid.getHeaderRowCount() : grid.getFooterRowCount();
         int nrows = isHeader ? numberHeaderRows : numberFooterRows;
         GQuery $rows = isHeader ? $head_tr : $foot_tr;
         if (n != nrows) {
-            for (int i = nrows; i < n; i++) {
+            // Removed from the end, through the static section so that the
+            // cell references of the rows are dropped as well
+            GridStaticSection staticSection = gridElement.getStaticSection();
+            for (int i = n - 1; i >= nrows; i--) {
                 if (isHeader) {
-                    grid.removeHeaderRow(i);
+                    staticSection.removeHeader(i);
                 } else {
-                    grid.removeFooterRow(i);
+                    staticSection.removeFooter(i);
                 }
             }
             for (int i = n; i < nrows; i++) {
@@ -192,6 +219,9 @@ public class GridLightDomTable implements MutationListener {
                 }
             }
         }
+        // The contents of all the cells are set in a single timer instead of
+        // scheduling one for each cell
+        final List<Runnable> contentSetters = new ArrayList<>();
         for (int i = 0; i < nrows; i++) {
             StaticRow<?> row = isHeader ? grid.getHeaderRow(i) : grid
                     .getFooterRow(i);
@@ -207,7 +237,7 @@ public class GridLightDomTable implements MutationListener {
                 final GQuery $th = $ths.eq(j);
                 StaticCell cell = row.getCell(dataColumns.get(colIndex));
                 JSStaticCell js = gridElement.getStaticSection()
-                        .obtainJSStaticCell(cell);
+                        .obtainJSStaticCell(row, cell);
 
                 className = JSValidate.String.attr($th, "class");
                 if (!className.isEmpty()) {
@@ -215,17 +245,22 @@ public class GridLightDomTable implements MutationListener {
                 }
 
                 int colspan = JSValidate.Integer.attr($th, "colspan", 1, 1);
-                // TODO: for some reason this not work without a timeout
-                new Timer() {
-                    @Override
-                    public void run() {
-                        js.setContent($th.html());
-                        js.setColspan(colspan);
-                    }
-                }.schedule(0);
+                contentSetters.add(() -> {
+                    js.setContent($th.html());
+                    js.setColspan(colspan);
+                });
                 colIndex += colspan;
             }
         }
+        // TODO: for some reason this not work without a timeout
+        new Timer() {
+            @Override
+            public void run() {
+                for (Runnable contentSetter : contentSetters) {
+                    contentSetter.run();
+                }
+            }
+        }.schedule(0);
 
         if (isHeader) {
             gridElement.getStaticSection().setDefaultHeader(defaultHeaderRow);
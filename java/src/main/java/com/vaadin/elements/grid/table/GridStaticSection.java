@@ -1,12 +1,18 @@
 package com.vaadin.elements.grid.table;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import jsinterop.annotations.JsIgnore;
 import jsinterop.annotations.JsType;
 
+import com.google.gwt.core.client.Scheduler;
+import com.vaadin.client.widget.escalator.RowContainer;
+import com.vaadin.client.widgets.Grid.Column;
+import com.vaadin.client.widgets.Grid.HeaderCell;
 import com.vaadin.client.widgets.Grid.StaticSection.StaticCell;
 import com.vaadin.client.widgets.Grid.StaticSection.StaticRow;
 import com.vaadin.elements.common.js.JS;
@@ -22,19 +28,51 @@ public class GridStaticSection {
     private final ViolatedGrid grid;
     private final Map<StaticCell, JSStaticCell> cells = new HashMap<>();
 
+    // Height updates requested during a task are done once in a deferred
+    // command, so that e.g. adding several header rows measures the grid once
+    private boolean heightUpdatePending = false;
+
+    // Changes to the sections during a task are repainted once at the end of
+    // it: the rows whose cells changed, or the whole section if needed
+    private final Set<StaticRow<?>> dirtyHeaderRows = new HashSet<>();
+    private final Set<StaticRow<?>> dirtyFooterRows = new HashSet<>();
+    private boolean headerRefreshPending = false;
+    private boolean footerRefreshPending = false;
+    private boolean flushPending = false;
+
     public GridStaticSection(GridElement gridElement) {
         this.gridElement = gridElement;
         this.grid = gridElement.getGrid();
     }
 
     @JsIgnore
-    public JSStaticCell obtainJSStaticCell(StaticCell cell) {
+    public JSStaticCell obtainJSStaticCell(StaticRow<?> row, StaticCell cell) {
         if (!cells.containsKey(cell)) {
-            cells.put(cell, new JSStaticCell(cell, gridElement));
+            cells.put(cell, new JSStaticCell(row, cell, gridElement));
         }
         return cells.get(cell);
     }
 
+    /**
+     * Drops the cell references of a column that is about to be removed from
+     * the grid.
+     */
+    @JsIgnore
+    public void removeColumnCells(Column<?, Object> column) {
+        for (int i = 0; i < grid.getHeaderRowCount(); i++) {
+            cells.remove(grid.getHeaderRow(i).getCell(column));
+        }
+        for (int i = 0; i < grid.getFooterRowCount(); i++) {
+            cells.remove(grid.getFooterRow(i).getCell(column));
+        }
+    }
+
+    private void removeCells(StaticRow<?> row) {
+        for (Column<?, Object> column : grid.getColumns()) {
+            cells.remove(row.getCell(column));
+        }
+    }
+
     public JSStaticCell getHeaderCell(int rowIndex, Object columnId) {
         GridColumn column = getColumnById(columnId);
         return getHeaderCellByColumn(rowIndex, column);
@@ -42,8 +80,8 @@ public class GridStaticSection {
 
     @JsIgnore
     public JSStaticCell getHeaderCellByColumn(int rowIndex, GridColumn column) {
-        StaticCell cell = grid.getHeaderRow(rowIndex).getCell(column);
-        return obtainJSStaticCell(cell);
+        StaticRow<?> row = grid.getHeaderRow(rowIndex);
+        return obtainJSStaticCell(row, row.getCell(column));
     }
 
     private GridColumn getColumnById(Object columnId) {
@@ -53,30 +91,28 @@ public class GridStaticSection {
 
     public JSStaticCell getFooterCell(int rowIndex, Object columnId) {
         GridColumn column = getColumnById(columnId);
-        StaticCell cell = grid.getFooterRow(rowIndex).getCell(column);
-        return obtainJSStaticCell(cell);
+        StaticRow<?> row = grid.getFooterRow(rowIndex);
+        return obtainJSStaticCell(row, row.getCell(column));
     }
 
     public void addHeader(Object rowIndex, JSArray<?> cellContent) {
         int index = getInteger(rowIndex, grid.getHeaderRowCount());
+        requestSectionRefresh(true);
         StaticRow<?> row = grid.addHeaderRowAt(index);
         if (cellContent != null) {
             setStaticRowCellContent(row, cellContent);
         }
-
-        grid.refreshHeader();
-        gridElement.updateHeight();
+        updateHeight();
     }
 
     public void addFooter(Object rowIndex, JSArray<?> cellContent) {
         int index = getInteger(rowIndex, grid.getFooterRowCount());
+        requestSectionRefresh(false);
         StaticRow<?> row = grid.addFooterRowAt(index);
         if (cellContent != null) {
             setStaticRowCellContent(row, cellContent);
         }
-
-        grid.refreshFooter();
-        gridElement.updateHeight();
+        updateHeight();
     }
 
     public int getFooterRowCount() {
@@ -99,36 +135,42 @@ public class GridStaticSection {
             GridColumn column = dataColumns.get(i);
             if (i < cellContent.size()) {
                 StaticCell cell = row.getCell(column);
-                obtainJSStaticCell(cell).setContent(cellContent.get(i));
+                obtainJSStaticCell(row, cell).setContent(cellContent.get(i));
             }
         }
     }
 
     public void removeHeader(int rowIndex) {
+        requestSectionRefresh(true);
+        StaticRow<?> row = grid.getHeaderRow(rowIndex);
+        removeCells(row);
+        dirtyHeaderRows.remove(row);
         grid.removeHeaderRow(rowIndex);
-        grid.refreshHeader();
-        gridElement.updateHeight();
+        updateHeight();
     }
 
     public void removeFooter(int rowIndex) {
+        requestSectionRefresh(false);
+        StaticRow<?> row = grid.getFooterRow(rowIndex);
+        removeCells(row);
+        dirtyFooterRows.remove(row);
         grid.removeFooterRow(rowIndex);
-        grid.refreshFooter();
-        gridElement.updateHeight();
+        updateHeight();
     }
 
     public void setHeaderRowClassName(int rowIndex, String styleName) {
-        grid.getHeaderRow(rowIndex).setStyleName(styleName);
-        grid.refreshHeader();
+        StaticRow<?> row = grid.getHeaderRow(rowIndex);
+        changeRow(true, row, () -> row.setStyleName(styleName));
     }
 
     public void setFooterRowClassName(int rowIndex, String styleName) {
-        grid.getFooterRow(rowIndex).setStyleName(styleName);
-        grid.refreshFooter();
+        StaticRow<?> row = grid.getFooterRow(rowIndex);
+        changeRow(false, row, () -> row.setStyleName(styleName));
     }
 
     public void setDefaultHeader(int rowIndex) {
+        requestSectionRefresh(true);
         grid.setDefaultHeaderRow(grid.getHeaderRow(rowIndex));
-        grid.refreshHeader();
     }
 
     public int getDefaultHeader() {
@@ -147,9 +189,9 @@ public class GridStaticSection {
     }
 
     public void setHeaderHidden(boolean hidden) {
+        requestSectionRefresh(true);
         grid.setHeaderVisible(!hidden);
-        grid.refreshHeader();
-        gridElement.updateHeight();
+        updateHeight();
     }
 
     public boolean isFooterHidden() {
@@ -157,8 +199,124 @@ public class GridStaticSection {
     }
 
     public void setFooterHidden(boolean hidden) {
+        requestSectionRefresh(false);
         grid.setFooterVisible(!hidden);
-        grid.refreshFooter();
-        gridElement.updateHeight();
+        updateHeight();
+    }
+
+    /**
+     * Applies a change to a cell of a static row, and queues a repaint of the
+     * row at the end of the task. The refresh of the whole section requested
+     * by the cell itself is cancelled, unless some other change had already
+     * requested it.
+     */
+    @JsIgnore
+    public void changeCell(StaticRow<?> row, StaticCell cell, Runnable change) {
+        changeRow(cell instanceof HeaderCell, row, change);
+        gridElement.updateWidth();
+    }
+
+    private void changeRow(boolean header, StaticRow<?> row, Runnable change) {
+        // Scheduled before the change, so that the repaint runs before the
+        // refresh the section schedules for it
+        scheduleFlush();
+        boolean sectionRefreshPending = grid
+                .isStaticSectionRefreshPending(header);
+        change.run();
+        if (!sectionRefreshPending) {
+            grid.cancelStaticSectionRefresh(header);
+            (header ? dirtyHeaderRows : dirtyFooterRows).add(row);
+        }
+    }
+
+    /**
+     * Queues a refresh of all the rows of a section at the end of the task,
+     * e.g. when rows have been added or removed.
+     */
+    private void requestSectionRefresh(boolean header) {
+        scheduleFlush();
+        if (header) {
+            headerRefreshPending = true;
+        } else {
+            footerRefreshPending = true;
+        }
+    }
+
+    private void scheduleFlush() {
+        if (!flushPending) {
+            flushPending = true;
+            Scheduler.get().scheduleFinally(() -> flushRefreshes());
+        }
+    }
+
+    /**
+     * Repaints the static rows changed since the last flush. Called at the end
+     * of the task, or before measuring the grid if that comes first.
+     */
+    @JsIgnore
+    public void flushRefreshes() {
+        if (flushPending) {
+            flushPending = false;
+            flush(true);
+            flush(false);
+        }
+    }
+
+    private void flush(boolean header) {
+        Set<StaticRow<?>> dirtyRows = header ? dirtyHeaderRows
+                : dirtyFooterRows;
+        boolean refreshAll = header ? headerRefreshPending
+                : footerRefreshPending;
+        RowContainer container = header ? grid.getEscalator().getHeader()
+                : grid.getEscalator().getFooter();
+
+        if (refreshAll || grid.isStaticSectionRefreshPending(header)
+                || (!dirtyRows.isEmpty() && container
+                        .getRowCount() != getVisibleRowCount(header))) {
+            grid.cancelStaticSectionRefresh(header);
+            if (header) {
+                grid.refreshHeader();
+            } else {
+                grid.refreshFooter();
+            }
+        } else if (!dirtyRows.isEmpty()) {
+            for (int i = 0; i < container.getRowCount(); i++) {
+                StaticRow<?> row = header ? grid.getHeaderRow(i) : grid
+                        .getFooterRow(i);
+                if (dirtyRows.contains(row)) {
+                    container.refreshRows(i, 1);
+                }
+            }
+        }
+
+        dirtyRows.clear();
+        if (header) {
+            headerRefreshPending = false;
+        } else {
+            footerRefreshPending = false;
+        }
+    }
+
+    @JsIgnore
+    public boolean isWorkPending() {
+        return heightUpdatePending || flushPending;
+    }
+
+    private void updateHeight() {
+        if (!heightUpdatePending) {
+            heightUpdatePending = true;
+            Scheduler.get().scheduleDeferred(() -> {
+                heightUpdatePending = false;
+                flushRefreshes();
+                gridElement.updateHeight();
+            });
+        }
+    }
+
+    private int getVisibleRowCount(boolean header) {
+        if (header) {
+            return grid.isHeaderVisible() ? grid.getHeaderRowCount() : 0;
+        }
+        return grid.isFooterVisible() ? grid.getFooterRowCount() : 0;
     }
 }
@@ -0,0 +1,230 @@
+package com.vaadin.elements.grid.table;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gwt.core.client.JsArrayString;
+import com.google.gwt.dom.client.Element;
+import com.google.gwt.dom.client.Node;
+import com.google.gwt.regexp.shared.MatchResult;
+import com.google.gwt.regexp.shared.RegExp;
+import com.vaadin.client.renderers.Renderer;
+import com.vaadin.client.widget.grid.RendererCellReference;
+import com.vaadin.elements.common.js.JS;
+import com.vaadin.elements.grid.data.GridDataSource;
+
+/**
+ * Renders the cells of a column by stamping a template. The template is
+ * cloned once per escalator cell, after that only the text nodes and
+ * attributes containing <code>${property.path}</code> placeholders are
+ * updated when the cell is reused for another row. Paths are resolved
+ * against the row data item, an empty placeholder stands for the item itself.
+ * Unlike curly brace bindings, the placeholders are left alone by Polymer
+ * when the grid is used inside another element's template.
+ */
+public class GridTemplateRenderer implements Renderer<Object> {
+
+    private static final RegExp PLACEHOLDER = RegExp.compile(
+            "\\$\\{\\s*([^}\\s]*)\\s*\\}", "g");
+
+    // Expando holding the StampedCell of a cell element
+    private static final String STAMPED = "stampedtemplate";
+
+    /**
+     * A text node or attribute with placeholders, located by its child index
+     * path from the template root.
+     */
+    private static class Binding {
+        final int[] nodePath;
+        final String attribute;
+        // Literal text around the placeholders, one more than paths
+        final String[] literals;
+        final String[][] paths;
+
+        Binding(int[] nodePath, String attribute, String[] literals,
+                String[][] paths) {
+            this.nodePath = nodePath;
+            this.attribute = attribute;
+            this.literals = literals;
+            this.paths = paths;
+        }
+
+        String evaluate(Object item) {
+            if (paths.length == 1 && literals[0].isEmpty()
+                    && literals[1].isEmpty()) {
+                return toText(GridColumn.getNestedProperty(item, paths[0]));
+            }
+            StringBuilder sb = new StringBuilder(literals[0]);
+            for (int i = 0; i < paths.length; i++) {
+                sb.append(toText(GridColumn.getNestedProperty(item, paths[i])));
+                sb.append(literals[i + 1]);
+            }
+            return sb.toString();
+        }
+    }
+
+    /**
+     * The bound nodes of a stamped cell and the values last written to them.
+     */
+    private static class StampedCell {
+        final GridTemplateRenderer renderer;
+        final Node firstChild;
+        final Node[] nodes;
+        final String[] values;
+
+        StampedCell(GridTemplateRenderer renderer, Node firstChild, int size) {
+            this.renderer = renderer;
+            this.firstChild = firstChild;
+            nodes = new Node[size];
+            values = new String[size];
+        }
+    }
+
+    private final Node content;
+    private final List<Binding> bindings = new ArrayList<>();
+
+    /**
+     * Creates a renderer for the given template. If the element is a
+     * <code>&lt;template&gt;</code> its content is used, otherwise the
+     * children of the element.
+     */
+    public GridTemplateRenderer(Element template) {
+        content = getContent(template);
+        compile(content, new ArrayList<>());
+    }
+
+    private void compile(Node parent, List<Integer> parentPath) {
+        for (int i = 0; i < parent.getChildCount(); i++) {
+            Node node = parent.getChild(i);
+            List<Integer> path = new ArrayList<>(parentPath);
+            path.add(i);
+            if (node.getNodeType() == Node.TEXT_NODE) {
+                addBinding(path, null, node.getNodeValue());
+            } else if (Element.is(node)) {
+                Element element = Element.as(node);
+                JsArrayString names = getAttributeNames(element);
+                for (int j = 0; j < names.length(); j++) {
+                    addBinding(path, names.get(j),
+                            element.getAttribute(names.get(j)));
+                    // Only set once evaluated, so that a stamped clone
+                    // doesn't e.g. load an image from the placeholder URL
+                    element.removeAttribute(names.get(j));
+                }
+                if (!"template".equalsIgnoreCase(element.getTagName())) {
+                    compile(node, path);
+                }
+            }
+        }
+    }
+
+    private void addBinding(List<Integer> path, String attribute, String text) {
+        List<String> literals = new ArrayList<>();
+        List<String[]> paths = new ArrayList<>();
+        int last = 0;
+        PLACEHOLDER.setLastIndex(0);
+        for (MatchResult m = PLACEHOLDER.exec(text); m != null; m = PLACEHOLDER
+                .exec(text)) {
+            literals.add(text.substring(last, m.getIndex()));
+            paths.add(m.getGroup(1).isEmpty() ? new String[0] : m.getGroup(1)
+                    .split("\\."));
+            last = m.getIndex() + m.getGroup(0).length();
+        }
+        if (!paths.isEmpty()) {
+            literals.add(text.substring(last));
+            int[] nodePath = new int[path.size()];
+            for (int i = 0; i < nodePath.length; i++) {
+                nodePath[i] = path.get(i);
+            }
+            bindings.add(new Binding(nodePath, attribute, literals
+                    .toArray(new String[0]), paths.toArray(new String[0][])));
+        }
+    }
+
+    @Override
+    public void render(RendererCellReference cell, Object data) {
+        Element element = cell.getElement();
+        StampedCell stamped = (StampedCell) element
+                .getPropertyObject(STAMPED);
+        if (stamped == null || stamped.renderer != this
+                || stamped.firstChild != element.getFirstChild()) {
+            stamped = stamp(element);
+        }
+
+        Object item = GridDataSource.extractDataItem(cell.getRow());
+        for (int i = 0; i < stamped.nodes.length; i++) {
+            Binding binding = bindings.get(i);
+            String value = binding.evaluate(item);
+            if (!value.equals(stamped.values[i])) {
+                stamped.values[i] = value;
+                if (binding.attribute == null) {
+                    stamped.nodes[i].setNodeValue(value);
+                } else {
+                    Element.as(stamped.nodes[i]).setAttribute(
+                            binding.attribute, value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Replaces the cell contents with a clone of the template and resolves
+     * the bound nodes in it.
+     */
+    private StampedCell stamp(Element element) {
+        element.removeAllChildren();
+        element.appendChild(importNode(content));
+
+        StampedCell stamped = new StampedCell(this, element.getFirstChild(),
+                bindings.size());
+        for (int i = 0; i < bindings.size(); i++) {
+            Node node = element;
+            for (int index : bindings.get(i).nodePath) {
+                node = node.getChild(index);
+            }
+            stamped.nodes[i] = node;
+        }
+        element.setPropertyObject(STAMPED, stamped);
+        return stamped;
+    }
+
+    private static String toText(Object value) {
+        return JS.isUndefinedOrNull(value) ? "" : value.toString();
+    }
+
+    /**
+     * Returns an inert copy of the template content, which can be modified
+     * without affecting the light DOM.
+     */
+    private static native Node getContent(Element template)
+    /*-{
+        if (template.content) {
+          return template.content.cloneNode(true);
+        }
+        // Parsed in a document without a browsing context, so that nothing
+        // in it is loaded or run
+        var doc = $doc.implementation.createHTMLDocument('');
+        var wrapper = doc.createElement('div');
+        wrapper.innerHTML = template.innerHTML;
+        var fragment = doc.createDocumentFragment();
+        while (wrapper.firstChild) {
+          fragment.appendChild(wrapper.firstChild);
+        }
+        return fragment;
+    }-*/;
+
+    private static native Node importNode(Node fragment)
+    /*-{
+        return $doc.importNode(fragment, true);
+    }-*/;
+
+    private static native JsArrayString getAttributeNames(Element element)
+    /*-{
+        var names = [];
+        for (var i = 0; i < element.attributes.length; i++) {
+          if (element.attributes[i].value.indexOf('${') != -1) {
+            names.push(element.attributes[i].name);
+          }
+        }
+        return names;
+    }-*/;
+}